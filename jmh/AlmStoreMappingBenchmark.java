@@ -0,0 +1,95 @@
+package com.amazon.green.book.service.jmh;
+
+import static com.amazon.green.book.service.webapp.constants.BrandConstants.WFM_BRAND_ID;
+import static com.amazon.green.book.service.webapp.constants.ServiceConstants.DEFAULT_MARKETPLACE_ID;
+import static org.mockito.Mockito.RETURNS_DEFAULTS;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.withSettings;
+
+import com.amazon.alm.stores.da.service.model.FindStoresForBrandResponse;
+import com.amazon.alm.stores.service.ALMStoresServiceClient;
+import com.amazon.coral.metrics.NullMetricsFactory;
+import com.amazon.green.book.service.model.StoreInformation;
+import com.amazon.green.book.service.webapp.api.AlmPayloadLogger;
+import com.amazon.green.book.service.webapp.api.AlmStoresServiceApi;
+import com.amazon.green.book.service.webapp.utils.MetricsEmitter;
+import com.amazon.metrics.declarative.DefaultMetricsManager;
+import com.amazon.metrics.declarative.MetricsFactoriesHelper;
+import com.amazon.metrics.declarative.MetricsManager;
+import com.amazon.metrics.declarative.aspectj.MetricMethodAspect;
+import com.amazon.metrics.declarative.servicemetrics.aspectj.ServiceMetricsMethodAspect;
+import com.google.common.collect.ImmutableMap;
+import com.google.gson.Gson;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.aspectj.lang.Aspects;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Mapping of ALM stores to StoreInformation, done for every store of every ALM response, including the timestamp parsing of
+ * their hours.
+ *
+ * <p>Measured through findAllStoresForBrand, on a stubbed ALM client answering a pre-built response without latency, so the
+ * score is the mapping plus the fixed cost of the call: its declarative metrics, discarded here, and the payload logging.
+ * See AlmTimestampParserBenchmark for the timestamp parsing alone.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AlmStoreMappingBenchmark {
+
+    @Param({"50", "500"})
+    private int storeCount;
+
+    private AlmStoresServiceApi almStoresServiceApi;
+
+    @Setup
+    public void setUp() {
+        // the declarative metrics aspects are woven into AlmStoresServiceApi, configured as MetricsProviderConfig does
+        final MetricsManager metricsManager = new DefaultMetricsManager(new NullMetricsFactory());
+        final MetricMethodAspect metricAspect = Aspects.aspectOf(MetricMethodAspect.class);
+        metricAspect.setMetricsManager(metricsManager);
+        metricAspect.setFactories(MetricsFactoriesHelper.defaultMetricFactories());
+        Aspects.aspectOf(ServiceMetricsMethodAspect.class).setMetricsManager(metricsManager);
+
+        final FindStoresForBrandResponse response = new Gson().fromJson(
+                SyntheticStores.almFindStoresForBrandResponse(storeCount), FindStoresForBrandResponse.class);
+        final ALMStoresServiceClient almClient = mock(ALMStoresServiceClient.class, withSettings().stubOnly());
+        doReturn(stubCall(response)).when(almClient).newFindStoresForBrandCall();
+
+        // the executor is only used by the async discover calls
+        almStoresServiceApi = new AlmStoresServiceApi(almClient, mock(MetricsEmitter.class), null,
+                new AlmPayloadLogger(ImmutableMap.of(), 0, 1));
+    }
+
+    @Benchmark
+    public List<StoreInformation> findAllStoresForBrand() {
+        return almStoresServiceApi.findAllStoresForBrand(WFM_BRAND_ID, DEFAULT_MARKETPLACE_ID);
+    }
+
+    // Coral call of the client, only known by the return type of newFindStoresForBrandCall, whose call method answers
+    private static Object stubCall(final FindStoresForBrandResponse response) {
+        final Class<?> callClass;
+        try {
+            callClass = ALMStoresServiceClient.class.getMethod("newFindStoresForBrandCall").getReturnType();
+        } catch (NoSuchMethodException noSuchMethodException) {
+            throw new IllegalStateException("No newFindStoresForBrandCall in ALMStoresServiceClient", noSuchMethodException);
+        }
+        return mock(callClass, withSettings().stubOnly().defaultAnswer(invocation -> "call".equals(invocation.getMethod().getName())
+                ? response : RETURNS_DEFAULTS.answer(invocation)));
+    }
+}
@@ -0,0 +1,78 @@
+package com.amazon.green.book.service.jmh;
+
+import com.amazon.green.book.service.webapp.utils.AlmTimestampParser;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Parsing of ALM store hours timestamps: repeated values, as in a catalog where stores share dates and opening times, and
+ * distinct values, which miss the memo of AlmTimestampParser.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AlmTimestampParserBenchmark {
+
+    private static final int DISTINCT_TIMESTAMPS = 1 << 16;
+    private static final Instant FIRST_DAY = Instant.parse("2021-05-07T07:00:00Z");
+
+    private final String[] repeatedTimestamps = new String[SyntheticStores.DAYS_OF_HOURS * 3];
+    private final String[] distinctTimestamps = new String[DISTINCT_TIMESTAMPS];
+    private int index;
+
+    @Setup
+    public void setUp() {
+        for (int day = 0; day < SyntheticStores.DAYS_OF_HOURS; day++) {
+            final Instant date = FIRST_DAY.plusSeconds(day * 86_400L);
+            repeatedTimestamps[3 * day] = date.toString();
+            repeatedTimestamps[3 * day + 1] = date.plusSeconds(7 * 3600).toString();
+            repeatedTimestamps[3 * day + 2] = date.plusSeconds(20 * 3600).toString();
+        }
+        for (int i = 0; i < DISTINCT_TIMESTAMPS; i++) {
+            distinctTimestamps[i] = FIRST_DAY.plusSeconds(i * 61L).toString();
+        }
+    }
+
+    @Benchmark
+    public Instant instantParseRepeated() {
+        return Instant.parse(nextRepeated());
+    }
+
+    @Benchmark
+    public Instant almTimestampParserRepeated() {
+        return AlmTimestampParser.parse(nextRepeated());
+    }
+
+    @Benchmark
+    public Instant instantParseDistinct() {
+        return Instant.parse(nextDistinct());
+    }
+
+    @Benchmark
+    public Instant almTimestampParserDistinct() {
+        return AlmTimestampParser.parse(nextDistinct());
+    }
+
+    private String nextRepeated() {
+        index = index + 1 == repeatedTimestamps.length ? 0 : index + 1;
+        return repeatedTimestamps[index];
+    }
+
+    private String nextDistinct() {
+        index = (index + 1) & (DISTINCT_TIMESTAMPS - 1);
+        return distinctTimestamps[index];
+    }
+}
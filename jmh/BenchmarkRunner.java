@@ -0,0 +1,33 @@
+package com.amazon.green.book.service.jmh;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks of this package with the GC profiler, which reports the allocation rate of each benchmark next to its
+ * score. gc.alloc.rate.norm is the number of bytes allocated per operation.
+ *
+ * <p>The first argument, if any, is a regular expression selecting the benchmarks to run, e.g. {@code StoresFilterBenchmark}.
+ */
+public final class BenchmarkRunner {
+
+    private BenchmarkRunner() {
+    }
+
+    /**
+     * Runs the benchmarks.
+     *
+     * @param args optional benchmark regular expression
+     * @throws RunnerException if a benchmark fails
+     */
+    public static void main(final String[] args) throws RunnerException {
+        final Options options = new OptionsBuilder()
+                .include(args.length > 0 ? args[0] : BenchmarkRunner.class.getPackage().getName() + ".*")
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
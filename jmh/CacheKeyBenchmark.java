@@ -0,0 +1,75 @@
+package com.amazon.green.book.service.jmh;
+
+import static com.amazon.green.book.service.webapp.constants.BrandConstants.WFM_BRAND_ID;
+import static com.amazon.green.book.service.webapp.constants.ServiceConstants.DEFAULT_MARKETPLACE_ID;
+
+import com.amazon.green.book.service.webapp.cache.StoresCacheKey;
+import com.amazon.green.book.service.webapp.utils.CacheKeyConverter;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * StoresForBrandCache lookup path: building the cache key of a brand catalog and looking it up in a hash map, the way
+ * Caffeine does.
+ *
+ * <p>{@code legacy*} benchmarks replay the former string key, concatenated on every lookup and split on every load. Run with
+ * {@code -prof gc} to compare their gc.alloc.rate.norm with the one of {@code typedKeyLookup} on the pre-built keys.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CacheKeyBenchmark {
+
+    private static final String LEGACY_CACHE_KEY_SEPARATOR = ",";
+    private static final String OTHER_MARKETPLACE_ID = "A2EUQ1WTGCTBG2";
+
+    // read from fields so that the JIT can not constant fold the key
+    private String almBrandId = WFM_BRAND_ID;
+    private String marketPlaceId = DEFAULT_MARKETPLACE_ID;
+    private String otherMarketPlaceId = OTHER_MARKETPLACE_ID;
+    private final Map<String, Object> legacyCache = new HashMap<>();
+    private final Map<StoresCacheKey, Object> typedCache = new HashMap<>();
+
+    @Setup
+    public void setUp() {
+        legacyCache.put(almBrandId + LEGACY_CACHE_KEY_SEPARATOR + marketPlaceId, new Object());
+        legacyCache.put(almBrandId + LEGACY_CACHE_KEY_SEPARATOR + otherMarketPlaceId, new Object());
+        typedCache.put(StoresCacheKey.of(almBrandId, marketPlaceId), new Object());
+        typedCache.put(StoresCacheKey.of(almBrandId, otherMarketPlaceId), new Object());
+    }
+
+    @Benchmark
+    public Object legacyKeyLookup() {
+        return legacyCache.get(almBrandId + LEGACY_CACHE_KEY_SEPARATOR + marketPlaceId);
+    }
+
+    @Benchmark
+    public Object typedKeyLookup() {
+        return typedCache.get(CacheKeyConverter.convertToCacheKey(almBrandId, marketPlaceId));
+    }
+
+    @Benchmark
+    public Object typedKeyLookupOtherMarketplace() {
+        // not pre-built, allocates the key but no string
+        return typedCache.get(CacheKeyConverter.convertToCacheKey(almBrandId, otherMarketPlaceId));
+    }
+
+    @Benchmark
+    public String[] legacyKeySplit() {
+        return (almBrandId + LEGACY_CACHE_KEY_SEPARATOR + marketPlaceId).split(LEGACY_CACHE_KEY_SEPARATOR);
+    }
+}
@@ -0,0 +1,104 @@
+package com.amazon.green.book.service.jmh;
+
+import com.amazon.green.book.service.webapp.config.ExecutionMode;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Request executor in each {@link ExecutionMode}: bursts of concurrent calls blocking the way the ALM calls block on Coral
+ * I/O, run on the executor the service builds for the mode.
+ *
+ * <p>The score is the number of bursts completed per second, multiply it by {@code concurrentCalls} for the calls per
+ * second. {@code peakPlatformThreads} is the thread footprint, platform threads each reserve their own native stack while
+ * virtual threads are not counted. Run through BenchmarkRunner for the heap footprint: gc.alloc.rate.norm is the heap
+ * allocated per burst, including the stacks of the virtual threads. Virtual threads require a Java 21+ runtime, on older
+ * ones both modes measure platform threads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ExecutionModeBenchmark {
+
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+    @Param({"PLATFORM_THREADS", "VIRTUAL_THREADS"})
+    private ExecutionMode executionMode;
+
+    // ALM calls in flight at once, e.g. one per request waiting on ALM
+    @Param({"100", "1000"})
+    private int concurrentCalls;
+
+    @Param({"20"})
+    private long callLatencyMillis;
+
+    private ExecutorService executorService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        executorService = executionMode.newExecutor();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executorService.shutdownNow();
+    }
+
+    @Benchmark
+    public int blockingCalls(final ThreadFootprint threadFootprint) throws InterruptedException, ExecutionException {
+        final List<Future<Integer>> calls = new ArrayList<>(concurrentCalls);
+        for (int i = 0; i < concurrentCalls; i++) {
+            calls.add(executorService.submit(this::blockingCall));
+        }
+
+        int completedCalls = 0;
+        for (Future<Integer> call : calls) {
+            completedCalls += call.get();
+        }
+        threadFootprint.peakPlatformThreads = THREADS.getPeakThreadCount();
+        return completedCalls;
+    }
+
+    private Integer blockingCall() throws InterruptedException {
+        Thread.sleep(callLatencyMillis);
+        return 1;
+    }
+
+    /**
+     * Live platform threads of the JVM at their peak during the iteration.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class ThreadFootprint {
+
+        public long peakPlatformThreads;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            THREADS.resetPeakThreadCount();
+            peakPlatformThreads = 0;
+        }
+    }
+}
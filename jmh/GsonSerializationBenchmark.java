@@ -0,0 +1,55 @@
+package com.amazon.green.book.service.jmh;
+
+import com.amazon.green.book.service.model.StoreInformation;
+import com.amazon.green.book.service.webapp.config.GsonConfig;
+import com.google.common.io.CharStreams;
+import com.google.gson.Gson;
+import java.io.Writer;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Gson serialization of store lists, as done for the storeFinder page: into a String, and streamed to a writer.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GsonSerializationBenchmark {
+
+    @Param({"10", "50", "500"})
+    private int storeCount;
+
+    private final Gson gson = new GsonConfig().getGson();
+    // discards the output, like a servlet writer it does not keep the JSON in memory
+    private final Writer writer = CharStreams.nullWriter();
+    private List<StoreInformation> stores;
+
+    @Setup
+    public void setUp() {
+        stores = SyntheticStores.storeInformationList(storeCount);
+    }
+
+    @Benchmark
+    public String toJsonString() {
+        return gson.toJson(stores);
+    }
+
+    @Benchmark
+    public void toJsonWriter() {
+        gson.toJson(stores, writer);
+    }
+}
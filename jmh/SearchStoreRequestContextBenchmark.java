@@ -0,0 +1,81 @@
+package com.amazon.green.book.service.jmh;
+
+import static com.amazon.green.book.service.webapp.constants.BrandConstants.WFM_BRAND_ID;
+import static com.amazon.green.book.service.webapp.constants.ServiceConstants.DEFAULT_MARKETPLACE_ID;
+import static com.amazon.green.book.service.webapp.context.SearchStoreRequestContext.SPACE;
+
+import com.amazon.green.book.service.webapp.cache.SearchableStore;
+import com.amazon.green.book.service.webapp.context.SearchStoreRequestContext;
+import com.amazon.shopping.portal.protocol.Header;
+import com.google.common.collect.ImmutableList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.lang3.StringUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+/**
+ * Parsing of the searchStores query into postal code and alpha words, done on every search request.
+ *
+ * <p>{@code legacyParseQuery} replays the former regex based parsing, validation errors aside.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SearchStoreRequestContextBenchmark {
+
+    private static final String LEGACY_ALPHA_NUMERIC_COMMA_SPACE_REGEX = "^[a-zA-Z0-9, ]*$";
+    private static final String LEGACY_SPACE_REGEX = "[ ]+";
+
+    @Param({"seattle", "98101", "salt lake city, ut 84101", "  new   york,,ny  "})
+    private String query;
+
+    private MockHttpServletRequest request;
+
+    @Setup
+    public void setUp() {
+        request = new MockHttpServletRequest();
+        request.addHeader(Header.X_AMZ_PORTAL_MARKETPLACE_ID.name(), DEFAULT_MARKETPLACE_ID);
+    }
+
+    @Benchmark
+    public SearchStoreRequestContext parseQuery() {
+        return new SearchStoreRequestContext(request, WFM_BRAND_ID, query);
+    }
+
+    @Benchmark
+    public Object[] legacyParseQuery() {
+        if (!query.matches(LEGACY_ALPHA_NUMERIC_COMMA_SPACE_REGEX) || query.trim().length() < 2) {
+            throw new IllegalArgumentException(query);
+        }
+        final String[] queryTokens = query.replace(",", SPACE).trim().split(LEGACY_SPACE_REGEX);
+        String alphaChars = "";
+        String postalCode = null;
+        for (final String token : queryTokens) {
+            if (StringUtils.isAlpha(token)) {
+                alphaChars += token + SPACE;
+            } else if (StringUtils.isNumeric(token)) {
+                postalCode = token;
+            }
+        }
+        alphaChars = alphaChars.trim();
+        final List<String> alphaWords = alphaChars.isEmpty()
+                ? ImmutableList.of()
+                : Arrays.stream(SearchableStore.normalize(alphaChars).split(SPACE)).collect(ImmutableList.toImmutableList());
+        return new Object[] {postalCode, alphaChars, alphaWords};
+    }
+}
@@ -0,0 +1,68 @@
+package com.amazon.green.book.service.jmh;
+
+import static com.amazon.green.book.service.webapp.constants.BrandConstants.WFM_BRAND_ID;
+import static com.amazon.green.book.service.webapp.constants.ServiceConstants.DEFAULT_MARKETPLACE_ID;
+
+import com.amazon.green.book.service.model.StoreInformation;
+import com.amazon.green.book.service.webapp.cache.SearchableStore;
+import com.amazon.green.book.service.webapp.cache.StoreCatalog;
+import com.amazon.green.book.service.webapp.context.SearchStoreRequestContext;
+import com.amazon.green.book.service.webapp.utils.StoresFilter;
+import com.amazon.shopping.portal.protocol.Header;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+/**
+ * Filtering a brand catalog by a search query: the linear scan of StoresFilter and the catalog search index.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StoresFilterBenchmark {
+
+    @Param({"500", "5000", "50000"})
+    private int storeCount;
+
+    // a common city word, a city and state, and a postal code prefix, see SyntheticStores
+    @Param({"green", "salt city ut", "981"})
+    private String query;
+
+    private List<StoreInformation> stores;
+    private StoreCatalog catalog;
+    private SearchStoreRequestContext requestContext;
+
+    @Setup
+    public void setUp() {
+        stores = SyntheticStores.storeInformationList(storeCount);
+        catalog = StoreCatalog.of(stores);
+
+        final MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(Header.X_AMZ_PORTAL_MARKETPLACE_ID.name(), DEFAULT_MARKETPLACE_ID);
+        requestContext = new SearchStoreRequestContext(request, WFM_BRAND_ID, query);
+    }
+
+    @Benchmark
+    public List<StoreInformation> filterStoresByQuery() {
+        return StoresFilter.filterStoresByQuery(stores, requestContext.getPostalCode(), requestContext.getAlphaChars());
+    }
+
+    @Benchmark
+    public List<SearchableStore> catalogSearchIndex() {
+        return catalog.getSearchIndex().searchSearchableStores(requestContext.getPostalCode(), requestContext.getAlphaWords());
+    }
+}
@@ -0,0 +1,161 @@
+package com.amazon.green.book.service.jmh;
+
+import com.amazon.green.book.service.model.StoreInformation;
+import com.amazon.green.book.service.model.StoreOperationalDailyHours;
+import com.amazon.green.book.service.model.StoreOperationalHours;
+import com.google.common.collect.ImmutableList;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import lombok.experimental.UtilityClass;
+
+/**
+ * Deterministic synthetic stores shaped like the ALM ones: a few hundred cities spread over the states, 5 digits postal
+ * codes and 7 days of hours per store.
+ */
+@UtilityClass
+public class SyntheticStores {
+
+    public static final int DAYS_OF_HOURS = 7;
+
+    private static final String[] STATES = {"AL", "AZ", "CA", "CO", "CT", "FL", "GA", "IL", "IN", "MA", "MD", "MI", "MN",
+        "MO", "NC", "NJ", "NV", "NY", "OH", "OR", "PA", "TN", "TX", "UT", "VA", "WA", "WI"};
+    private static final String[] CITY_PREFIXES = {"Salt", "New", "San", "Fort", "Lake", "West", "North", "Spring", "Cedar",
+        "Green", "Oak", "River", "Glen", "Fair", "Bell", "Maple", "Clear", "Red", "Stone", "Sea"};
+    private static final String[] CITY_SUFFIXES = {"ville", "field", "ton", "wood", " City", " Falls", "view", "port",
+        "dale", " Park", "burg", "side", "mont", "ford", "land"};
+    private static final Instant FIRST_DAY = Instant.parse("2021-05-07T07:00:00Z");
+    private static final long SEED = 42;
+
+    /**
+     * Builds stores in the model served by GreenBookService.
+     *
+     * @param count number of stores
+     * @return the stores
+     */
+    public static List<StoreInformation> storeInformationList(final int count) {
+        final Random random = new Random(SEED);
+        final List<StoreInformation> stores = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            final List<StoreOperationalDailyHours> dailyHours = new ArrayList<>(DAYS_OF_HOURS);
+            for (int day = 0; day < DAYS_OF_HOURS; day++) {
+                final Instant date = FIRST_DAY.plus(Duration.ofDays(day));
+                dailyHours.add(StoreOperationalDailyHours.builder()
+                        .date(date)
+                        .operationalHours(ImmutableList.of(StoreOperationalHours.builder()
+                                .startTime(date.plus(Duration.ofHours(7)))
+                                .endTime(date.plus(Duration.ofHours(20)))
+                                .build()))
+                        .build());
+            }
+            stores.add(StoreInformation.builder()
+                    .storeId(storeId(i))
+                    .libbyStoreId(String.valueOf(10_000 + i))
+                    .name("Store " + city(random))
+                    .addressLines(ImmutableList.of((100 + random.nextInt(9_900)) + " Main Street"))
+                    .city(city(random))
+                    .state(state(random))
+                    .postalCode(postalCode(random))
+                    .timezone("America/Los_Angeles")
+                    .latitude(25 + random.nextDouble() * 24)
+                    .longitude(-124 + random.nextDouble() * 57)
+                    .operationalDailyHours(dailyHours)
+                    .build());
+        }
+        return stores;
+    }
+
+    /**
+     * Builds the JSON of an ALM findStoresForBrand response, with the same stores as {@link #storeInformationList}.
+     *
+     * <p>ALM models are read from JSON rather than built, so that the benchmarks only depend on their getters.
+     *
+     * @param count number of stores
+     * @return the response JSON
+     */
+    public static JsonObject almFindStoresForBrandResponse(final int count) {
+        final JsonObject response = new JsonObject();
+        response.add("almStores", almStores(count, false));
+        return response;
+    }
+
+    /**
+     * Builds the JSON of ALM stores, the same stores as {@link #storeInformationList}.
+     *
+     * @param count        number of stores
+     * @param withDistance true to add the distance from the customer, like discover responses
+     * @return JSON array of ALMStore
+     */
+    public static JsonArray almStores(final int count, final boolean withDistance) {
+        final Random random = new Random(SEED);
+        final JsonArray almStores = new JsonArray();
+        for (final StoreInformation store : storeInformationList(count)) {
+            final JsonObject referencesInfo = new JsonObject();
+            referencesInfo.addProperty("libbyStoreId", store.getLibbyStoreId());
+
+            final JsonObject geocode = new JsonObject();
+            geocode.addProperty("latitude", store.getLatitude());
+            geocode.addProperty("longitude", store.getLongitude());
+            final JsonArray addressLines = new JsonArray();
+            store.getAddressLines().forEach(addressLines::add);
+            final JsonObject locationInfo = new JsonObject();
+            locationInfo.add("addressLines", addressLines);
+            locationInfo.addProperty("city", store.getCity());
+            locationInfo.addProperty("state", store.getState());
+            locationInfo.addProperty("postalCode", store.getPostalCode());
+            locationInfo.addProperty("timeZone", store.getTimezone());
+            locationInfo.add("geocode", geocode);
+
+            final JsonArray operationalDailyHours = new JsonArray();
+            for (final StoreOperationalDailyHours dailyHours : store.getOperationalDailyHours()) {
+                final JsonArray operationalHours = new JsonArray();
+                for (final StoreOperationalHours hours : dailyHours.getOperationalHours()) {
+                    final JsonObject almHours = new JsonObject();
+                    almHours.addProperty("startTime", hours.getStartTime().toString());
+                    almHours.addProperty("endTime", hours.getEndTime().toString());
+                    operationalHours.add(almHours);
+                }
+                final JsonObject almDailyHours = new JsonObject();
+                almDailyHours.addProperty("date", dailyHours.getDate().toString());
+                almDailyHours.add("operationalHours", operationalHours);
+                operationalDailyHours.add(almDailyHours);
+            }
+            final JsonObject operationalInfo = new JsonObject();
+            operationalInfo.add("operationalDailyHours", operationalDailyHours);
+
+            final JsonObject almStore = new JsonObject();
+            almStore.addProperty("physicalStoreId", store.getStoreId());
+            almStore.addProperty("storeName", store.getName());
+            almStore.add("referencesInfo", referencesInfo);
+            almStore.add("locationInfo", locationInfo);
+            almStore.add("operationalInfo", operationalInfo);
+            if (withDistance) {
+                final JsonObject reachabilityInfo = new JsonObject();
+                reachabilityInfo.addProperty("distanceInMiles", random.nextDouble() * 50);
+                almStore.add("reachabilityInfo", reachabilityInfo);
+            }
+            almStores.add(almStore);
+        }
+        return almStores;
+    }
+
+    private static String storeId(final int index) {
+        return String.format("%08d", 10_000_000 + index);
+    }
+
+    private static String city(final Random random) {
+        return CITY_PREFIXES[random.nextInt(CITY_PREFIXES.length)] + CITY_SUFFIXES[random.nextInt(CITY_SUFFIXES.length)];
+    }
+
+    private static String state(final Random random) {
+        return STATES[random.nextInt(STATES.length)];
+    }
+
+    private static String postalCode(final Random random) {
+        return String.format("%05d", 1_000 + random.nextInt(98_000));
+    }
+}
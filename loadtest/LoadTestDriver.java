@@ -0,0 +1,250 @@
+package com.amazon.green.book.service.loadtest;
+
+import static com.amazon.core.platform.raw.runtime.constants.RawParameters.MARKETPLACE_ID;
+import static com.amazon.core.platform.raw.runtime.constants.RawParameters.SESSION_ID;
+import static com.amazon.green.book.service.loadtest.LoadTestSettings.doubleSetting;
+import static com.amazon.green.book.service.loadtest.LoadTestSettings.intSetting;
+import static com.amazon.green.book.service.loadtest.LoadTestSettings.stringSetting;
+import static com.amazon.green.book.service.webapp.constants.BrandConstants.WFM_BRAND_ID;
+import static com.amazon.green.book.service.webapp.constants.RawParamsConstants.ALM_BRAND_ID;
+import static com.amazon.green.book.service.webapp.constants.RawParamsConstants.IP_ADDRESS;
+import static com.amazon.green.book.service.webapp.constants.ServiceConstants.DEFAULT_MARKETPLACE_ID;
+import static com.amazon.green.book.service.webapp.constants.UrlMapping.GET_STORE_FINDER_URL;
+import static com.amazon.green.book.service.webapp.constants.UrlMapping.LIST_NEARBY_STORES_URL;
+import static com.amazon.green.book.service.webapp.constants.UrlMapping.SEARCH_STORES_URL;
+
+import com.amazon.shopping.portal.protocol.Header;
+import com.google.common.collect.ImmutableList;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+/**
+ * Drives the GreenBookService endpoints at a fixed request rate and reports their latency percentiles.
+ *
+ * <p>Requests are sent asynchronously on a fixed schedule, and their latency is measured from the time the schedule intended
+ * to send them rather than from the time they were sent. A stall of the service, or of the driver, therefore shows up as
+ * the latency every scheduled request would have seen, instead of as fewer slow samples (coordinated omission).
+ *
+ * <p>Settings, as {@code loadtest.*} system properties:
+ * <ul>
+ *   <li>{@code baseUrl}, http://localhost:8080 by default</li>
+ *   <li>{@code ratePerSecond}, 100 by default</li>
+ *   <li>{@code warmupSeconds} and {@code durationSeconds}, 30 and 120 by default, only the latter is reported</li>
+ *   <li>{@code almBrandId}, WFM by default</li>
+ *   <li>{@code mix}, requests per endpoint in each round, {@code search:6,stores:3,storeFinder:1} by default</li>
+ * </ul>
+ *
+ * <p>Run the webapp with {@code -Dgreenbook.rootConfigClass=com.amazon.green.book.service.loadtest.LoadTestRootConfig} so that
+ * ALM is served by the stand-in of StubAlmStoresServiceClientConfig.
+ */
+public final class LoadTestDriver {
+
+    private static final long HISTOGRAM_MAX_MICROS = TimeUnit.MINUTES.toMicros(1);
+    private static final int HISTOGRAM_SIGNIFICANT_DIGITS = 3;
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    // cities and states of the stores served by the ALM stand-in, see SyntheticStores
+    private static final List<String> SEARCH_QUERIES = ImmutableList.of(
+            "salt", "salt city ut", "98101", "fort park, tx", "new 80", "lakeview", "wa", "tx", "80", "green or");
+
+    private final URI baseUri;
+    private final String almBrandId;
+    private final HttpClient httpClient = HttpClient.newBuilder().connectTimeout(REQUEST_TIMEOUT).build();
+    private final Map<Endpoint, Recorder> latencies = new EnumMap<>(Endpoint.class);
+    private final Map<Endpoint, AtomicLong> errors = new EnumMap<>(Endpoint.class);
+    private final AtomicInteger inFlightRequests = new AtomicInteger();
+
+    private LoadTestDriver(final URI baseUri, final String almBrandId) {
+        this.baseUri = baseUri;
+        this.almBrandId = almBrandId;
+        for (final Endpoint endpoint : Endpoint.values()) {
+            latencies.put(endpoint, new Recorder(HISTOGRAM_MAX_MICROS, HISTOGRAM_SIGNIFICANT_DIGITS));
+            errors.put(endpoint, new AtomicLong());
+        }
+    }
+
+    /**
+     * Runs the load test and prints the latency percentiles of each endpoint.
+     *
+     * @param args unused, see the class documentation for the settings
+     * @throws InterruptedException if interrupted while waiting for the last requests
+     */
+    public static void main(final String[] args) throws InterruptedException {
+        final LoadTestDriver driver = new LoadTestDriver(URI.create(stringSetting("baseUrl", "http://localhost:8080")),
+                stringSetting("almBrandId", WFM_BRAND_ID));
+        driver.run(doubleSetting("ratePerSecond", 100), intSetting("warmupSeconds", 30), intSetting("durationSeconds", 120),
+                parseMix(stringSetting("mix", "search:6,stores:3,storeFinder:1")));
+    }
+
+    private void run(final double ratePerSecond,
+                     final int warmupSeconds,
+                     final int durationSeconds,
+                     final List<Endpoint> mix) throws InterruptedException {
+        final long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / ratePerSecond);
+        final long startNanos = System.nanoTime();
+        final long measureFromNanos = startNanos + TimeUnit.SECONDS.toNanos(warmupSeconds);
+        final long endNanos = measureFromNanos + TimeUnit.SECONDS.toNanos(durationSeconds);
+        System.out.printf("Sending %.1f requests/s to %s for %d s of warmup and %d s of measurement.%n", ratePerSecond, baseUri,
+                warmupSeconds, durationSeconds);
+
+        for (long i = 0; ; i++) {
+            final long intendedStartNanos = startNanos + i * intervalNanos;
+            if (intendedStartNanos >= endNanos) {
+                break;
+            }
+            waitUntil(intendedStartNanos);
+            // requests scheduled during the warmup are sent but not recorded
+            send(mix.get((int) (i % mix.size())), intendedStartNanos, intendedStartNanos >= measureFromNanos);
+        }
+
+        final long drainDeadlineNanos = System.nanoTime() + REQUEST_TIMEOUT.toNanos();
+        while (inFlightRequests.get() > 0 && System.nanoTime() < drainDeadlineNanos) {
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+        report();
+    }
+
+    private void send(final Endpoint endpoint, final long intendedStartNanos, final boolean recorded) {
+        inFlightRequests.incrementAndGet();
+        httpClient.sendAsync(endpoint.newRequest(baseUri, almBrandId), HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, throwable) -> {
+                    if (recorded) {
+                        final long latencyMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - intendedStartNanos);
+                        latencies.get(endpoint).recordValue(Math.min(latencyMicros, HISTOGRAM_MAX_MICROS));
+                        if (throwable != null || response.statusCode() >= 400) {
+                            errors.get(endpoint).incrementAndGet();
+                        }
+                    }
+                    inFlightRequests.decrementAndGet();
+                });
+    }
+
+    private void report() {
+        System.out.printf("%-12s %8s %8s %10s %10s %10s %10s%n", "endpoint", "requests", "errors", "p50 ms", "p99 ms", "p999 ms",
+                "max ms");
+        for (final Endpoint endpoint : Endpoint.values()) {
+            final Histogram histogram = latencies.get(endpoint).getIntervalHistogram();
+            if (histogram.getTotalCount() == 0) {
+                continue;
+            }
+            System.out.printf("%-12s %8d %8d %10.1f %10.1f %10.1f %10.1f%n", endpoint.mixName, histogram.getTotalCount(),
+                    errors.get(endpoint).get(), millis(histogram.getValueAtPercentile(50)),
+                    millis(histogram.getValueAtPercentile(99)), millis(histogram.getValueAtPercentile(99.9)),
+                    millis(histogram.getMaxValue()));
+        }
+        if (inFlightRequests.get() > 0) {
+            System.out.printf("%d requests did not complete and are not reported.%n", inFlightRequests.get());
+        }
+    }
+
+    private static void waitUntil(final long nanos) {
+        long remainingNanos;
+        while ((remainingNanos = nanos - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remainingNanos);
+        }
+    }
+
+    private static double millis(final long micros) {
+        return micros / 1000.0;
+    }
+
+    // e.g. "search:6,stores:3" -> [SEARCH_STORES x 6, LIST_NEARBY_STORES x 3], interleaved
+    private static List<Endpoint> parseMix(final String mix) {
+        final Map<Endpoint, Integer> weights = new EnumMap<>(Endpoint.class);
+        for (final String entry : mix.split(",")) {
+            final String[] nameAndWeight = entry.trim().split(":");
+            weights.put(Endpoint.fromMixName(nameAndWeight[0]), Integer.parseInt(nameAndWeight[1]));
+        }
+
+        final List<Endpoint> schedule = new ArrayList<>();
+        final int maxWeight = weights.values().stream().mapToInt(Integer::intValue).max().orElse(0);
+        for (int round = 0; round < maxWeight; round++) {
+            for (final Map.Entry<Endpoint, Integer> weight : weights.entrySet()) {
+                if (round < weight.getValue()) {
+                    schedule.add(weight.getKey());
+                }
+            }
+        }
+        if (schedule.isEmpty()) {
+            throw new IllegalArgumentException("Empty load test mix: " + mix);
+        }
+        return schedule;
+    }
+
+    private enum Endpoint {
+        SEARCH_STORES("search") {
+            @Override
+            HttpRequest.Builder newRequestBuilder(final URI baseUri, final String almBrandId) {
+                final String query = SEARCH_QUERIES.get(ThreadLocalRandom.current().nextInt(SEARCH_QUERIES.size()));
+                return HttpRequest.newBuilder(baseUri.resolve(SEARCH_STORES_URL + "?almBrandId=" + encode(almBrandId)
+                                + "&query=" + encode(query)))
+                        .header(Header.X_AMZ_PORTAL_MARKETPLACE_ID.name(), DEFAULT_MARKETPLACE_ID)
+                        .header("Accept-Encoding", "gzip");
+            }
+        },
+        LIST_NEARBY_STORES("stores") {
+            @Override
+            HttpRequest.Builder newRequestBuilder(final URI baseUri, final String almBrandId) {
+                return HttpRequest.newBuilder(baseUri.resolve(LIST_NEARBY_STORES_URL + "?almBrandId=" + encode(almBrandId)))
+                        .header("X-Forwarded-For", randomIpAddress());
+            }
+        },
+        STORE_FINDER("storeFinder") {
+            @Override
+            HttpRequest.Builder newRequestBuilder(final URI baseUri, final String almBrandId) {
+                return HttpRequest.newBuilder(baseUri.resolve(GET_STORE_FINDER_URL
+                        + "?" + ALM_BRAND_ID + "=" + encode(almBrandId)
+                        + "&" + MARKETPLACE_ID + "=" + DEFAULT_MARKETPLACE_ID
+                        + "&" + SESSION_ID + "=" + UUID.randomUUID()
+                        + "&" + IP_ADDRESS + "=" + randomIpAddress()));
+            }
+        };
+
+        private final String mixName;
+
+        Endpoint(final String mixName) {
+            this.mixName = mixName;
+        }
+
+        abstract HttpRequest.Builder newRequestBuilder(URI baseUri, String almBrandId);
+
+        HttpRequest newRequest(final URI baseUri, final String almBrandId) {
+            return newRequestBuilder(baseUri, almBrandId).timeout(REQUEST_TIMEOUT).GET().build();
+        }
+
+        static Endpoint fromMixName(final String mixName) {
+            for (final Endpoint endpoint : values()) {
+                if (endpoint.mixName.equals(mixName)) {
+                    return endpoint;
+                }
+            }
+            throw new IllegalArgumentException("Unknown endpoint in the load test mix: " + mixName);
+        }
+
+        // distinct customers, so that the service does not coalesce their ALM calls
+        private static String randomIpAddress() {
+            final ThreadLocalRandom random = ThreadLocalRandom.current();
+            return "10." + random.nextInt(256) + "." + random.nextInt(256) + "." + random.nextInt(1, 255);
+        }
+
+        private static String encode(final String value) {
+            return URLEncoder.encode(value, StandardCharsets.UTF_8);
+        }
+    }
+}
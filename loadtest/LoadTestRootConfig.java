@@ -0,0 +1,20 @@
+package com.amazon.green.book.service.loadtest;
+
+import com.amazon.green.book.service.webapp.config.CustomRootConfig;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+
+/**
+ * Root spring configuration of the webapp under load test: the application configuration with ALM replaced by the stand-in
+ * of StubAlmStoresServiceClientConfig.
+ *
+ * <p>Selected with {@code -Dgreenbook.rootConfigClass=com.amazon.green.book.service.loadtest.LoadTestRootConfig}, see
+ * HorizonteWebApplicationInitializer.
+ */
+@Configuration
+@Import({CustomRootConfig.class, StubAlmStoresServiceClientConfig.class})
+@Log4j2
+public class LoadTestRootConfig {
+
+}
@@ -0,0 +1,46 @@
+package com.amazon.green.book.service.loadtest;
+
+import lombok.experimental.UtilityClass;
+
+/**
+ * Settings of the load test, read from {@code loadtest.*} system properties of the webapp (ALM stub) and of the driver.
+ */
+@UtilityClass
+public class LoadTestSettings {
+
+    private static final String PREFIX = "loadtest.";
+
+    /**
+     * Reads a string setting.
+     *
+     * @param name         setting name, without the loadtest. prefix
+     * @param defaultValue value if the property is not set
+     * @return the setting
+     */
+    public static String stringSetting(final String name, final String defaultValue) {
+        return System.getProperty(PREFIX + name, defaultValue);
+    }
+
+    /**
+     * Reads an integer setting.
+     *
+     * @param name         setting name, without the loadtest. prefix
+     * @param defaultValue value if the property is not set
+     * @return the setting
+     */
+    public static int intSetting(final String name, final int defaultValue) {
+        return Integer.getInteger(PREFIX + name, defaultValue);
+    }
+
+    /**
+     * Reads a decimal setting.
+     *
+     * @param name         setting name, without the loadtest. prefix
+     * @param defaultValue value if the property is not set
+     * @return the setting
+     */
+    public static double doubleSetting(final String name, final double defaultValue) {
+        final String value = System.getProperty(PREFIX + name);
+        return value == null ? defaultValue : Double.parseDouble(value);
+    }
+}
@@ -0,0 +1,128 @@
+package com.amazon.green.book.service.loadtest;
+
+import static com.amazon.green.book.service.loadtest.LoadTestSettings.doubleSetting;
+import static com.amazon.green.book.service.loadtest.LoadTestSettings.intSetting;
+import static org.mockito.Mockito.RETURNS_DEFAULTS;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.withSettings;
+
+import com.amazon.alm.stores.da.service.model.FindStoresForBrandResponse;
+import com.amazon.alm.stores.discovery.instore.service.model.DiscoverInStoreStoresResponse;
+import com.amazon.alm.stores.discovery.pickup.service.model.DiscoverPickupStoresResponse;
+import com.amazon.alm.stores.service.ALMStoresServiceClient;
+import com.amazon.green.book.service.jmh.SyntheticStores;
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+/**
+ * Replaces the ALMStoresServiceClient of AlmStoresServiceClientConfig by a local stand-in for load tests.
+ *
+ * <p>It is outside of the packages scanned by CustomRootConfig, and only imported by LoadTestRootConfig, so that it can not
+ * replace ALM in a regular deployment.
+ *
+ * <p>The stand-in serves the synthetic stores of the JMH benchmarks after a log-normal latency, and injects failures:
+ * <ul>
+ *   <li>{@code loadtest.alm.findStoresForBrandStoreCount}, stores of findStoresForBrand responses, 2000 by default</li>
+ *   <li>{@code loadtest.alm.discoverStoreCount}, stores of discover responses, 20 by default</li>
+ *   <li>{@code loadtest.alm.latencyMedianMs} and {@code loadtest.alm.latencyP99Ms}, 60 and 400 by default</li>
+ *   <li>{@code loadtest.alm.failureRate}, share of calls throwing, 0 by default</li>
+ *   <li>{@code loadtest.alm.executionInfoErrorRate}, share of discover responses with OperationExecutionInfo errors,
+ *       0 by default</li>
+ * </ul>
+ */
+@Configuration
+@Log4j2
+public class StubAlmStoresServiceClientConfig {
+
+    // z-score of the 99th percentile of a normal distribution
+    private static final double P99_Z_SCORE = 2.326;
+
+    private final Gson gson = new Gson();
+    private final int findStoresForBrandStoreCount = intSetting("alm.findStoresForBrandStoreCount", 2000);
+    private final int discoverStoreCount = intSetting("alm.discoverStoreCount", 20);
+    private final double latencyMedianMs = doubleSetting("alm.latencyMedianMs", 60);
+    private final double latencySigma = Math.log(doubleSetting("alm.latencyP99Ms", 400) / latencyMedianMs) / P99_Z_SCORE;
+    private final double failureRate = doubleSetting("alm.failureRate", 0);
+    private final double executionInfoErrorRate = doubleSetting("alm.executionInfoErrorRate", 0);
+
+    /**
+     * Creates the ALM stand-in, preferred over the ALMStoresServiceClient of AlmStoresServiceClientConfig.
+     *
+     * @return stubbed ALMStoreService client
+     */
+    @Bean
+    @Primary
+    public ALMStoresServiceClient getStubAlmStoresServiceClient() {
+        final FindStoresForBrandResponse findStoresForBrandResponse =
+                response(SyntheticStores.almStores(findStoresForBrandStoreCount, false), false, FindStoresForBrandResponse.class);
+        final DiscoverInStoreStoresResponse inStoreResponse = discoverResponse(false, DiscoverInStoreStoresResponse.class);
+        final DiscoverInStoreStoresResponse inStoreErrorResponse = discoverResponse(true, DiscoverInStoreStoresResponse.class);
+        final DiscoverPickupStoresResponse pickupResponse = discoverResponse(false, DiscoverPickupStoresResponse.class);
+        final DiscoverPickupStoresResponse pickupErrorResponse = discoverResponse(true, DiscoverPickupStoresResponse.class);
+
+        // stub only: the mocks do not record the calls, which would otherwise be retained for the whole load test
+        final ALMStoresServiceClient almClient = mock(ALMStoresServiceClient.class, withSettings().stubOnly());
+        doReturn(stubCall("newFindStoresForBrandCall", () -> simulateCall(findStoresForBrandResponse, findStoresForBrandResponse)))
+                .when(almClient).newFindStoresForBrandCall();
+        doReturn(stubCall("newDiscoverGeoInStoreStoresCall", () -> simulateCall(inStoreResponse, inStoreErrorResponse)))
+                .when(almClient).newDiscoverGeoInStoreStoresCall();
+        doReturn(stubCall("newDiscoverGeoPickupStoresCall", () -> simulateCall(pickupResponse, pickupErrorResponse)))
+                .when(almClient).newDiscoverGeoPickupStoresCall();
+
+        log.warn("ALM is replaced by a local stand-in for load tests: {} stores per brand, {} stores per discover call, "
+                        + "{} ms median latency, {} failure rate, {} execution info error rate.", findStoresForBrandStoreCount,
+                discoverStoreCount, latencyMedianMs, failureRate, executionInfoErrorRate);
+        return almClient;
+    }
+
+    // Coral call of the client, only known by the return type of the client method creating it, whose call method answers
+    private static Object stubCall(final String newCallMethodName, final Callable<?> call) {
+        final Class<?> callClass;
+        try {
+            callClass = ALMStoresServiceClient.class.getMethod(newCallMethodName).getReturnType();
+        } catch (NoSuchMethodException noSuchMethodException) {
+            throw new IllegalStateException("No " + newCallMethodName + " in ALMStoresServiceClient", noSuchMethodException);
+        }
+        return mock(callClass, withSettings().stubOnly().defaultAnswer(invocation -> "call".equals(invocation.getMethod().getName())
+                ? call.call() : RETURNS_DEFAULTS.answer(invocation)));
+    }
+
+    private <T> T simulateCall(final T response, final T executionInfoErrorResponse) throws InterruptedException {
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        // sleeping keeps the calling thread busy like a blocking Coral call, and is interrupted like it on cancellation
+        TimeUnit.MICROSECONDS.sleep((long) (1000 * latencyMedianMs * Math.exp(latencySigma * random.nextGaussian())));
+        if (random.nextDouble() < failureRate) {
+            throw new IllegalStateException("Injected ALM failure");
+        }
+        return random.nextDouble() < executionInfoErrorRate ? executionInfoErrorResponse : response;
+    }
+
+    private <T> T discoverResponse(final boolean withExecutionInfoError, final Class<T> responseClass) {
+        return response(SyntheticStores.almStores(discoverStoreCount, true), withExecutionInfoError, responseClass);
+    }
+
+    // ALM models are read from JSON rather than built, so that the stand-in only depends on their field names
+    private <T> T response(final JsonArray almStores, final boolean withExecutionInfoError, final Class<T> responseClass) {
+        final JsonObject response = new JsonObject();
+        response.add("almStores", almStores);
+        if (withExecutionInfoError) {
+            final JsonArray errors = new JsonArray();
+            errors.add("Injected ALM dependency error");
+            final JsonObject executionInfo = new JsonObject();
+            executionInfo.add("errors", errors);
+            final JsonObject context = new JsonObject();
+            context.add("executionInfo", executionInfo);
+            response.add("context", context);
+        }
+        return gson.fromJson(response, responseClass);
+    }
+}
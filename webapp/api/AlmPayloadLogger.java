@@ -0,0 +1,217 @@
+package com.amazon.green.book.service.webapp.api;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * Logs ALM calls off the request thread.
+ *
+ * <p>Every call is logged as a summary: operation, store count, error count and latency, or the failure of the call. The
+ * full request and response are only logged for a sampled share of the calls of each operation, as JSON truncated to a
+ * maximum length. ALM responses list every store with its hours, the one of findStoresForBrand is several MB once
+ * stringified, so sampled payloads are rendered into a bounded buffer that stops the rendering at the maximum length.
+ * They are rendered when the call is logged, so that queued entries never retain the ALM responses.
+ *
+ * <p>Entries go through a bounded queue drained by a single daemon thread. When the queue is full entries are dropped
+ * rather than blocking the caller, and the number of dropped entries is logged once the queue drains. The thread is
+ * stopped by {@link #shutdown}.
+ */
+@Log4j2
+public class AlmPayloadLogger {
+
+    private static final String TRUNCATED_SUFFIX = "...(truncated)";
+
+    private final Gson gson = new GsonBuilder().disableHtmlEscaping().create();
+    private final Map<String, Double> payloadSampleRates;
+    private final int maxPayloadChars;
+    private final BlockingQueue<LogEntry> entries;
+    private final AtomicLong droppedEntries = new AtomicLong();
+    private final Thread loggingThread;
+
+    /**
+     * Constructor for the AlmPayloadLogger, starting its logging thread.
+     *
+     * @param payloadSampleRates share of the calls, between 0 and 1, whose payloads are logged per operation, 0 if absent
+     * @param maxPayloadChars    payloads are truncated to this many characters
+     * @param queueCapacity      entries waiting to be logged beyond this are dropped
+     */
+    public AlmPayloadLogger(final Map<String, Double> payloadSampleRates, final int maxPayloadChars, final int queueCapacity) {
+        this.payloadSampleRates = ImmutableMap.copyOf(payloadSampleRates);
+        this.maxPayloadChars = maxPayloadChars;
+        this.entries = new ArrayBlockingQueue<>(queueCapacity);
+
+        this.loggingThread = new ThreadFactoryBuilder().setDaemon(true).setNameFormat("alm-payload-logger-%d").build()
+                .newThread(this::drain);
+        loggingThread.start();
+    }
+
+    /**
+     * Logs an ALM call. It does not block, sampled payloads are rendered up to the maximum length.
+     *
+     * @param operation  the ALM operation
+     * @param request    the ALM request
+     * @param response   the ALM response
+     * @param storeCount number of stores in the response
+     * @param errorCount number of errors in the response execution info
+     * @param latencyMs  latency of the call
+     */
+    public void logCall(final String operation,
+                        final Object request,
+                        final Object response,
+                        final int storeCount,
+                        final int errorCount,
+                        final long latencyMs) {
+        final boolean payloadSampled = isPayloadSampled(operation);
+        enqueue(new LogEntry(operation, payloadSampled ? render(request) : null, payloadSampled ? render(response) : null,
+                null, storeCount, errorCount, latencyMs));
+    }
+
+    /**
+     * Logs an ALM call that threw. It does not block, the request is rendered up to the maximum length if sampled.
+     *
+     * @param operation the ALM operation
+     * @param request   the ALM request
+     * @param failure   the exception thrown by the call
+     * @param latencyMs latency of the call
+     */
+    public void logFailedCall(final String operation, final Object request, final Throwable failure, final long latencyMs) {
+        enqueue(new LogEntry(operation, isPayloadSampled(operation) ? render(request) : null, null, String.valueOf(failure),
+                0, 0, latencyMs));
+    }
+
+    /**
+     * Stops the logging thread, entries still queued are not logged.
+     */
+    public void shutdown() {
+        loggingThread.interrupt();
+    }
+
+    private boolean isPayloadSampled(final String operation) {
+        return ThreadLocalRandom.current().nextDouble() < payloadSampleRates.getOrDefault(operation, 0.0);
+    }
+
+    private void enqueue(final LogEntry entry) {
+        if (!entries.offer(entry)) {
+            droppedEntries.incrementAndGet();
+        }
+    }
+
+    private void drain() {
+        while (true) {
+            try {
+                write(entries.take());
+            } catch (InterruptedException interruptedException) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException exception) {
+                // the next entries are still logged
+                log.warn("Failed to log ALM call.", exception);
+            }
+
+            if (entries.isEmpty()) {
+                final long dropped = droppedEntries.getAndSet(0);
+                if (dropped > 0) {
+                    log.warn("Dropped {} ALM call log entries, the logging queue was full.", dropped);
+                }
+            }
+        }
+    }
+
+    private void write(final LogEntry entry) {
+        if (entry.failure != null) {
+            log.info("ALM {} call failed in {} ms: {}", entry.operation, entry.latencyMs, entry.failure);
+        } else {
+            log.info("ALM {} call returned {} stores and {} errors in {} ms.", entry.operation, entry.storeCount, entry.errorCount,
+                    entry.latencyMs);
+        }
+        if (entry.request != null || entry.response != null) {
+            log.info("Sampled ALM {} call. Request: {} Response: {}", entry.operation, entry.request, entry.response);
+        }
+    }
+
+    // JSON of the payload, rendering stops once it reaches the maximum length
+    private String render(final Object payload) {
+        final BoundedAppendable rendered = new BoundedAppendable(maxPayloadChars);
+        try {
+            gson.toJson(payload, rendered);
+        } catch (PayloadTruncatedException payloadTruncatedException) {
+            return rendered.toString() + TRUNCATED_SUFFIX;
+        } catch (RuntimeException exception) {
+            // e.g. a field Gson can not serialize, the summary of the call is still logged
+            log.debug("Failed to render ALM payload.", exception);
+            return "(not rendered: " + exception + ")";
+        }
+        return rendered.toString();
+    }
+
+    // StringBuilder refusing to grow beyond a maximum length
+    @RequiredArgsConstructor
+    private static final class BoundedAppendable implements Appendable {
+
+        private final StringBuilder buffer = new StringBuilder();
+        private final int maxChars;
+
+        @Override
+        public Appendable append(final CharSequence chars) {
+            return append(chars, 0, chars.length());
+        }
+
+        @Override
+        public Appendable append(final CharSequence chars, final int start, final int end) {
+            final int remaining = maxChars - buffer.length();
+            if (end - start > remaining) {
+                buffer.append(chars, start, start + remaining);
+                throw PayloadTruncatedException.INSTANCE;
+            }
+            buffer.append(chars, start, end);
+            return this;
+        }
+
+        @Override
+        public Appendable append(final char c) {
+            if (buffer.length() >= maxChars) {
+                throw PayloadTruncatedException.INSTANCE;
+            }
+            buffer.append(c);
+            return this;
+        }
+
+        @Override
+        public String toString() {
+            return buffer.toString();
+        }
+    }
+
+    // Stops the rendering of a payload, thrown for every truncated payload so without a stack trace
+    private static final class PayloadTruncatedException extends RuntimeException {
+
+        private static final PayloadTruncatedException INSTANCE = new PayloadTruncatedException();
+
+        private PayloadTruncatedException() {
+            super("Payload truncated", null, false, false);
+        }
+    }
+
+    @RequiredArgsConstructor
+    private static final class LogEntry {
+
+        private final String operation;
+        // rendered payloads, null if not sampled
+        private final String request;
+        private final String response;
+        // null if the call returned
+        private final String failure;
+        private final int storeCount;
+        private final int errorCount;
+        private final long latencyMs;
+    }
+}
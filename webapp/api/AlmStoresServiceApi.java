@@ -3,11 +3,15 @@ package com.amazon.green.book.service.webapp.api;
 import static com.amazon.green.book.service.webapp.constants.BrandConstants.AFS_BRAND_ID;
 import static com.amazon.green.book.service.webapp.constants.MetricsConstants.ALM_STORE_LOCATION_NOT_FOUND;
 import static com.amazon.green.book.service.webapp.constants.MetricsConstants.ALM_STORE_SERVICE;
+import static com.amazon.green.book.service.webapp.constants.MetricsConstants.DISCOVER_IN_STORE_STORES_COALESCED_CALLERS;
 import static com.amazon.green.book.service.webapp.constants.MetricsConstants.DISCOVER_IN_STORE_STORES_NOT_FOUND;
 import static com.amazon.green.book.service.webapp.constants.MetricsConstants.DISCOVER_IN_STORE_STORES_OPERATION;
+import static com.amazon.green.book.service.webapp.constants.MetricsConstants.DISCOVER_PICKUP_STORES_COALESCED_CALLERS;
 import static com.amazon.green.book.service.webapp.constants.MetricsConstants.DISCOVER_PICKUP_STORES_NOT_FOUND;
 import static com.amazon.green.book.service.webapp.constants.MetricsConstants.DISCOVER_PICKUP_STORES_OPERATION;
 import static com.amazon.green.book.service.webapp.constants.MetricsConstants.FIND_STORES_FOR_BRAND_OPERATION;
+import static com.amazon.green.book.service.webapp.constants.ServiceConstants.RADIUS_MILES;
+import static com.amazon.green.book.service.webapp.utils.AsyncCalls.supplyCancellableAsync;
 import static java.util.Optional.ofNullable;
 import static java.util.stream.Collectors.toList;
 import static org.apache.commons.collections4.CollectionUtils.isEmpty;
@@ -36,6 +40,8 @@ import com.amazon.green.book.service.model.StoreInformation.StoreInformationBuil
 import com.amazon.green.book.service.model.StoreOperationalDailyHours;
 import com.amazon.green.book.service.model.StoreOperationalHours;
 import com.amazon.green.book.service.webapp.exceptions.GreenBookDependencyException;
+import com.amazon.green.book.service.webapp.utils.AlmTimestampParser;
+import com.amazon.green.book.service.webapp.utils.InFlightCallCoalescer;
 import com.amazon.green.book.service.webapp.utils.MetricsEmitter;
 import com.amazon.metrics.declarative.servicemetrics.Availability;
 import com.amazon.metrics.declarative.servicemetrics.Latency;
@@ -43,8 +49,11 @@ import com.amazon.metrics.declarative.servicemetrics.ServiceMetric;
 import com.amazon.metrics.declarative.servicemetrics.Timeout;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableList;
-import java.time.Instant;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
@@ -55,11 +64,47 @@ import org.springframework.stereotype.Component;
 @Log4j2
 public class AlmStoresServiceApi {
 
-    private static final Double RADIUS_MILES = 50.0;
     private static final List<String> BUILD_COMPLEX_ATTRIBUTES = ImmutableList.of("OPERATIONAL_DAILY_HOURS");
 
     private final ALMStoresServiceClient almClient;
     private final MetricsEmitter metricsEmitter;
+    private final ExecutorService executorService;
+    private final AlmPayloadLogger almPayloadLogger;
+
+    // Concurrent identical discover calls (same postal code, or same anonymous customer on the default ip address)
+    // share a single ALM call. Keys are the list of call arguments.
+    private final InFlightCallCoalescer<List<String>, List<StoreInformation>> discoverInStoreStoresCalls =
+            new InFlightCallCoalescer<>(coalescedCallers ->
+                    metricsEmitter.emitCount(DISCOVER_IN_STORE_STORES_COALESCED_CALLERS, coalescedCallers));
+    private final InFlightCallCoalescer<List<String>, List<StoreInformation>> discoverPickupStoresCalls =
+            new InFlightCallCoalescer<>(coalescedCallers ->
+                    metricsEmitter.emitCount(DISCOVER_PICKUP_STORES_COALESCED_CALLERS, coalescedCallers));
+
+    /**
+     * Gets all Stores for an AlmBrandId.
+     *
+     * @param almBrandId an entity that owns regional stores (ALM Stores) like WFM, AFS, Sprouts etc
+     * @param marketPlaceId obfuscated marketplace id
+     * @return list of store info
+     */
+    @ServiceMetric(serviceName = ALM_STORE_SERVICE, operation = FIND_STORES_FOR_BRAND_OPERATION)
+    @Latency
+    @Availability
+    @Timeout
+    public List<StoreInformation> findAllStoresForBrand(final String almBrandId, final String marketPlaceId) {
+        final FindStoresForBrandRequest request = buildFindStoresForBrandRequest(almBrandId, marketPlaceId);
+        final long startNanos = System.nanoTime();
+        final FindStoresForBrandResponse response;
+        try {
+            response = almClient.newFindStoresForBrandCall().call(request);
+        } catch (RuntimeException exception) {
+            almPayloadLogger.logFailedCall(FIND_STORES_FOR_BRAND_OPERATION, request, exception, elapsedMillis(startNanos));
+            throw exception;
+        }
+        almPayloadLogger.logCall(FIND_STORES_FOR_BRAND_OPERATION, request, response, size(response.getAlmStores()), 0,
+                elapsedMillis(startNanos));
+        return buildStoreInfoList(response.getAlmStores());
+    }
 
     /**
      * Discover nearby ALM in-store stores from EITHER the given customer info and ip address OR from postal Code.
@@ -69,30 +114,79 @@ public class AlmStoresServiceApi {
      *
      * <p>See: https://tiny.amazon.com/gapxo1uj/codeamazpackALMSblobfcfdsrc
      *
+     * <p>The ALM call runs on the shared executor and may be shared with identical calls in flight. Cancelling the returned
+     * future gives up on the call, which is interrupted once all the callers sharing it gave up.
+     *
      * @param almBrandId    an entity that owns regional stores (ALM Stores) like WFM, AFS, Sprouts etc
      * @param marketplaceId obfuscated marketplace id
      * @param customerId    customer id
      * @param sessionId     customer's session id
      * @param ipAddress     customer's ip address
      * @param postalCode    the postalCode used to find nearby stores, null if finding stores based on customer info and ip address instead
-     * @return list of store info
+     * @return future of the list of store info
+     */
+    public CompletableFuture<List<StoreInformation>> discoverGeoInStoreStoresAsync(final String almBrandId,
+                                                                                   final String marketplaceId,
+                                                                                   final String customerId,
+                                                                                   final String sessionId,
+                                                                                   final String ipAddress,
+                                                                                   final String postalCode) {
+        return discoverInStoreStoresCalls.execute(
+                Arrays.asList(almBrandId, marketplaceId, customerId, sessionId, ipAddress, postalCode),
+                () -> supplyCancellableAsync(() -> callDiscoverGeoInStoreStores(
+                        almBrandId, marketplaceId, customerId, sessionId, ipAddress, postalCode), executorService));
+    }
+
+    /**
+     * Discover nearby ALM pickup stores from EITHER the given customer info and location OR from postal Code.
+     *
+     * <p>The ALM call runs on the shared executor and may be shared with identical calls in flight. Cancelling the returned
+     * future gives up on the call, which is interrupted once all the callers sharing it gave up.
+     *
+     * @param almBrandId    an entity that owns regional stores (ALM Stores) like WFM, AFS, Sprouts etc
+     * @param marketplaceId obfuscated marketplace id
+     * @param customerId    customer id
+     * @param sessionId     customer's session id
+     * @param ipAddress     customer's ip address
+     * @param postalCode    the postalCode used to find nearby stores, null if finding stores based on customer info and ip address instead
+     * @return future of the list of store info
      */
+    public CompletableFuture<List<StoreInformation>> discoverGeoPickupStoresAsync(final String almBrandId,
+                                                                                  final String marketplaceId,
+                                                                                  final String customerId,
+                                                                                  final String sessionId,
+                                                                                  final String ipAddress,
+                                                                                  final String postalCode) {
+        return discoverPickupStoresCalls.execute(
+                Arrays.asList(almBrandId, marketplaceId, customerId, sessionId, ipAddress, postalCode),
+                () -> supplyCancellableAsync(() -> callDiscoverGeoPickupStores(
+                        almBrandId, marketplaceId, customerId, sessionId, ipAddress, postalCode), executorService));
+    }
+
     @ServiceMetric(serviceName = ALM_STORE_SERVICE, operation = DISCOVER_IN_STORE_STORES_OPERATION)
     @Latency
     @Availability
     @Timeout
-    public List<StoreInformation> discoverGeoInStoreStores(final String almBrandId,
-                                                           final String marketplaceId,
-                                                           final String customerId,
-                                                           final String sessionId,
-                                                           final String ipAddress,
-                                                           final String postalCode) {
+    private List<StoreInformation> callDiscoverGeoInStoreStores(final String almBrandId,
+                                                                final String marketplaceId,
+                                                                final String customerId,
+                                                                final String sessionId,
+                                                                final String ipAddress,
+                                                                final String postalCode) {
         final DiscoverInStoreStoresRequest request = buildDiscoverInStoreStoresRequest(
                 almBrandId, marketplaceId, customerId, sessionId, ipAddress, postalCode);
-        final DiscoverInStoreStoresResponse response = almClient.newDiscoverGeoInStoreStoresCall().call(request);
-        log.info("Response for newDiscoverGeoInStoreStoresCall call: {}", response);
-
+        final long startNanos = System.nanoTime();
+        final DiscoverInStoreStoresResponse response;
+        try {
+            response = almClient.newDiscoverGeoInStoreStoresCall().call(request);
+        } catch (RuntimeException exception) {
+            almPayloadLogger.logFailedCall(DISCOVER_IN_STORE_STORES_OPERATION, request, exception, elapsedMillis(startNanos));
+            throw exception;
+        }
         final List<String> errorResponse = buildErrorInfo(response.getContext(), DiscoveredInStoreStoresContext::getExecutionInfo);
+        almPayloadLogger.logCall(DISCOVER_IN_STORE_STORES_OPERATION, request, response, size(response.getAlmStores()),
+                errorResponse.size(), elapsedMillis(startNanos));
+
         if (!errorResponse.isEmpty()) {
             log.error("Dependency error occurred when calling newDiscoverGeoInStoreStoresCall Api. Errors: {}.", errorResponse);
             throw new GreenBookDependencyException("ALM dependency error");
@@ -106,33 +200,30 @@ public class AlmStoresServiceApi {
         return buildStoreInfoList(response.getAlmStores());
     }
 
-    /**
-     * Discover nearby ALM pickup stores from EITHER the given customer info and location OR from postal Code.
-     *
-     * @param almBrandId    an entity that owns regional stores (ALM Stores) like WFM, AFS, Sprouts etc
-     * @param marketplaceId obfuscated marketplace id
-     * @param customerId    customer id
-     * @param sessionId     customer's session id
-     * @param ipAddress     customer's ip address
-     * @param postalCode    the postalCode used to find nearby stores, null if finding stores based on customer info and ip address instead
-     * @return list of store info
-     */
     @ServiceMetric(serviceName = ALM_STORE_SERVICE, operation = DISCOVER_PICKUP_STORES_OPERATION)
     @Latency
     @Availability
     @Timeout
-    public List<StoreInformation> discoverGeoPickupStores(final String almBrandId,
-                                                          final String marketplaceId,
-                                                          final String customerId,
-                                                          final String sessionId,
-                                                          final String ipAddress,
-                                                          final String postalCode) {
+    private List<StoreInformation> callDiscoverGeoPickupStores(final String almBrandId,
+                                                               final String marketplaceId,
+                                                               final String customerId,
+                                                               final String sessionId,
+                                                               final String ipAddress,
+                                                               final String postalCode) {
         final DiscoverPickupStoresRequest request = buildDiscoverPickupStoresRequest(
                 almBrandId, marketplaceId, customerId, sessionId, ipAddress, postalCode);
-        final DiscoverPickupStoresResponse response = almClient.newDiscoverGeoPickupStoresCall().call(request);
-        log.info("Response for newDiscoverGeoPickupStoresCall call: {}", response);
-
+        final long startNanos = System.nanoTime();
+        final DiscoverPickupStoresResponse response;
+        try {
+            response = almClient.newDiscoverGeoPickupStoresCall().call(request);
+        } catch (RuntimeException exception) {
+            almPayloadLogger.logFailedCall(DISCOVER_PICKUP_STORES_OPERATION, request, exception, elapsedMillis(startNanos));
+            throw exception;
+        }
         final List<String> errorResponse = buildErrorInfo(response.getContext(), DiscoveredPickupStoresContext::getExecutionInfo);
+        almPayloadLogger.logCall(DISCOVER_PICKUP_STORES_OPERATION, request, response, size(response.getAlmStores()),
+                errorResponse.size(), elapsedMillis(startNanos));
+
         if (!errorResponse.isEmpty()) {
             log.error("Dependency error occurred when calling newDiscoverGeoPickupStoresCall Api. Errors: {}.", errorResponse);
             throw new GreenBookDependencyException("ALM dependency error");
@@ -146,24 +237,6 @@ public class AlmStoresServiceApi {
         return buildStoreInfoList(response.getAlmStores());
     }
 
-    /**
-     * Gets all Stores for an AlmBrandId.
-     *
-     * @param almBrandId an entity that owns regional stores (ALM Stores) like WFM, AFS, Sprouts etc
-     * @param marketPlaceId obfuscated marketplace id
-     * @return list of store info
-     */
-    @ServiceMetric(serviceName = ALM_STORE_SERVICE, operation = FIND_STORES_FOR_BRAND_OPERATION)
-    @Latency
-    @Availability
-    @Timeout
-    public List<StoreInformation> findAllStoresForBrand(final String almBrandId, final String marketPlaceId) {
-        final FindStoresForBrandRequest request = buildFindStoresForBrandRequest(almBrandId, marketPlaceId);
-        final FindStoresForBrandResponse response = almClient.newFindStoresForBrandCall().call(request);
-        log.info("Response for newFindStoresForBrandCall call: {}", response);
-        return buildStoreInfoList(response.getAlmStores());
-    }
-
     @VisibleForTesting
     DiscoverInStoreStoresRequest buildDiscoverInStoreStoresRequest(final String almBrandId,
                                                                    final String marketplaceId,
@@ -228,6 +301,14 @@ public class AlmStoresServiceApi {
                 .build();
     }
 
+    private static int size(final List<?> almStores) {
+        return almStores == null ? 0 : almStores.size();
+    }
+
+    private static long elapsedMillis(final long startNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+
     private <T> List<String> buildErrorInfo(final T responseContext,
                                             final Function<T, OperationExecutionInfo> getExecutionInfo) {
         // ALM request could fail on its dependency calls and still return us a response without throwing
@@ -305,11 +386,11 @@ public class AlmStoresServiceApi {
                 .map(ALMStoreOperationalInfo::getOperationalDailyHours).orElse(ImmutableList.of());
 
         return almStoreOperationalDailyHours.stream().map(dailyHour -> StoreOperationalDailyHours.builder()
-                .date(Instant.parse(dailyHour.getDate()))
+                .date(AlmTimestampParser.parse(dailyHour.getDate()))
                 .operationalHours(dailyHour.getOperationalHours().stream().map(
                         hour -> StoreOperationalHours.builder()
-                                .startTime(Instant.parse(hour.getStartTime()))
-                                .endTime(Instant.parse(hour.getEndTime()))
+                                .startTime(AlmTimestampParser.parse(hour.getStartTime()))
+                                .endTime(AlmTimestampParser.parse(hour.getEndTime()))
                                 .build()).collect(toList()))
                 .build())
                 .collect(toList());
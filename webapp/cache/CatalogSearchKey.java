@@ -0,0 +1,44 @@
+package com.amazon.green.book.service.webapp.cache;
+
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import lombok.Value;
+
+/**
+ * Identifies a search response computed from a brand catalog: the catalog, its generation and the normalized query.
+ *
+ * <p>The same key always yields the same response body, so it versions the response for HTTP caching and keys the gzipped
+ * bodies, see PrecompressedResponseCache.
+ */
+@Value
+public class CatalogSearchKey {
+
+    // the brand and marketplace of the catalog, the version alone does not tell two catalogs with the same stores apart
+    StoresCacheKey catalogKey;
+    HashCode catalogVersion;
+    // null if the query has no postal code
+    String postalCode;
+    // normalized like the search fields of cached stores, see SearchableStore
+    List<String> alphaWords;
+
+    /**
+     * Builds the entity tag of the response. It is weak, the same response may be sent with different content encodings.
+     *
+     * @return the quoted weak entity tag
+     */
+    public String toEtag() {
+        final Hasher hasher = Hashing.murmur3_128().newHasher()
+                .putString(catalogKey.toString(), StandardCharsets.UTF_8)
+                .putByte((byte) 0)
+                .putBytes(catalogVersion.asBytes())
+                .putString(postalCode == null ? "" : postalCode, StandardCharsets.UTF_8)
+                .putInt(alphaWords.size());
+        for (final String alphaWord : alphaWords) {
+            hasher.putString(alphaWord, StandardCharsets.UTF_8).putByte((byte) 0);
+        }
+        return "W/\"" + hasher.hash() + "\"";
+    }
+}
@@ -0,0 +1,171 @@
+package com.amazon.green.book.service.webapp.cache;
+
+import com.amazon.green.book.service.model.StoreInformation;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.zip.CRC32;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * Local disk snapshots of the stores for brand catalogs, used to warm the cache on restart without waiting for ALM.
+ *
+ * <p>A snapshot file is a fixed size header followed by the gzipped JSON of the stores:
+ * <pre>
+ *   int  magic
+ *   int  format version
+ *   long written at, epoch millis
+ *   int  payload length
+ *   long CRC32 of the payload
+ *   byte[payload length] gzipped JSON array of StoreInformation
+ * </pre>
+ * Snapshots are written to a temporary file and atomically moved in place, so a reader never sees a partial snapshot.
+ * Snapshots that are missing, too old, of another version or corrupted are ignored. Stores are encoded by {@link StoreJson}.
+ */
+@Log4j2
+public class CatalogSnapshotStore {
+
+    private static final int MAGIC = 0x47425343; // "GBSC"
+    private static final int FORMAT_VERSION = 1;
+    private static final int HEADER_BYTES = Integer.BYTES + Integer.BYTES + Long.BYTES + Integer.BYTES + Long.BYTES;
+    private static final String SNAPSHOT_FILE_SUFFIX = ".snapshot";
+
+    private final Path directory;
+    private final Duration maxAge;
+
+    /**
+     * Constructor for the CatalogSnapshotStore.
+     *
+     * @param directory directory of the snapshot files, created if missing
+     * @param maxAge    snapshots older than this are not used
+     */
+    public CatalogSnapshotStore(final Path directory, final Duration maxAge) {
+        this.directory = directory;
+        this.maxAge = maxAge;
+    }
+
+    /**
+     * Writes the snapshot of a catalog, replacing the previous one.
+     *
+     * @param cacheKey cache key of the catalog
+     * @param stores   all stores of the catalog
+     * @throws IOException if the snapshot could not be written
+     */
+    public void write(final StoresCacheKey cacheKey, final List<StoreInformation> stores) throws IOException {
+        final ByteArrayOutputStream payload = new ByteArrayOutputStream();
+        try (Writer writer = new OutputStreamWriter(new GZIPOutputStream(payload), StandardCharsets.UTF_8)) {
+            StoreJson.GSON.toJson(stores, StoreJson.STORES_TYPE, writer);
+        }
+        final byte[] payloadBytes = payload.toByteArray();
+        final CRC32 crc32 = new CRC32();
+        crc32.update(payloadBytes);
+
+        final ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES)
+                .putInt(MAGIC)
+                .putInt(FORMAT_VERSION)
+                .putLong(System.currentTimeMillis())
+                .putInt(payloadBytes.length)
+                .putLong(crc32.getValue());
+        header.flip();
+
+        Files.createDirectories(directory);
+        final Path snapshotFile = getSnapshotFile(cacheKey);
+        final Path temporaryFile = Files.createTempFile(directory, snapshotFile.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temporaryFile, StandardOpenOption.WRITE)) {
+                final ByteBuffer payloadBuffer = ByteBuffer.wrap(payloadBytes);
+                while (header.hasRemaining() || payloadBuffer.hasRemaining()) {
+                    channel.write(new ByteBuffer[] {header, payloadBuffer});
+                }
+                channel.force(true);
+            }
+            Files.move(temporaryFile, snapshotFile, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temporaryFile);
+        }
+    }
+
+    /**
+     * Reads the snapshot of a catalog.
+     *
+     * @param cacheKey cache key of the catalog
+     * @return all stores of the catalog, empty if there is no usable snapshot
+     */
+    public Optional<List<StoreInformation>> read(final StoresCacheKey cacheKey) {
+        final Path snapshotFile = getSnapshotFile(cacheKey);
+        try (FileChannel channel = FileChannel.open(snapshotFile, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_BYTES) {
+                log.warn("Ignoring truncated catalog snapshot {}", snapshotFile);
+                return Optional.empty();
+            }
+            final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+
+            final int magic = buffer.getInt();
+            final int formatVersion = buffer.getInt();
+            if (magic != MAGIC || formatVersion != FORMAT_VERSION) {
+                log.warn("Ignoring catalog snapshot {} with magic {} and version {}", snapshotFile, magic, formatVersion);
+                return Optional.empty();
+            }
+
+            final Instant writtenAt = Instant.ofEpochMilli(buffer.getLong());
+            final Duration age = Duration.between(writtenAt, Instant.now());
+            if (age.compareTo(maxAge) > 0) {
+                log.info("Ignoring catalog snapshot {} written {} ago", snapshotFile, age);
+                return Optional.empty();
+            }
+
+            final int payloadLength = buffer.getInt();
+            final long expectedCrc32 = buffer.getLong();
+            if (payloadLength < 0 || payloadLength != buffer.remaining()) {
+                log.warn("Ignoring catalog snapshot {} with payload length {} for {} bytes", snapshotFile, payloadLength,
+                        buffer.remaining());
+                return Optional.empty();
+            }
+            final byte[] payloadBytes = new byte[payloadLength];
+            buffer.get(payloadBytes);
+            final CRC32 crc32 = new CRC32();
+            crc32.update(payloadBytes);
+            if (crc32.getValue() != expectedCrc32) {
+                log.warn("Ignoring corrupted catalog snapshot {}", snapshotFile);
+                return Optional.empty();
+            }
+
+            try (Reader reader = new InputStreamReader(new GZIPInputStream(new ByteArrayInputStream(payloadBytes)),
+                    StandardCharsets.UTF_8)) {
+                final List<StoreInformation> stores = StoreJson.GSON.fromJson(reader, StoreJson.STORES_TYPE);
+                log.info("Read {} stores from catalog snapshot {} written {} ago", stores.size(), snapshotFile, age);
+                return Optional.of(stores);
+            }
+        } catch (NoSuchFileException noSuchFileException) {
+            log.info("No catalog snapshot {}", snapshotFile);
+            return Optional.empty();
+        } catch (IOException | RuntimeException exception) {
+            // includes JSON and date parsing errors
+            log.warn("Failed to read catalog snapshot {}", snapshotFile, exception);
+            return Optional.empty();
+        }
+    }
+
+    private Path getSnapshotFile(final StoresCacheKey cacheKey) {
+        return directory.resolve(cacheKey.toString().replaceAll("[^A-Za-z0-9_-]", "_") + SNAPSHOT_FILE_SUFFIX);
+    }
+}
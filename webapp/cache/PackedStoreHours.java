@@ -0,0 +1,143 @@
+package com.amazon.green.book.service.webapp.cache;
+
+import com.amazon.green.book.service.model.StoreOperationalDailyHours;
+import com.amazon.green.book.service.model.StoreOperationalHours;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.EqualsAndHashCode;
+
+/**
+ * Operating hours of a cached store, packed into a single int array.
+ *
+ * <p>As objects, a week of hours is a list of StoreOperationalDailyHours each with its date, its own list of
+ * StoreOperationalHours and their start and end times, ~1 KB per store for a single opening per day. Packed, it is one array
+ * of epoch-second offsets from a base instant, laid out per day as
+ * {@code [date, hours count, start 1, end 1, ..., start n, end n]}, ~150 B for the same week.
+ *
+ * <p>Hours are unpacked into new objects whenever the store is materialized, see {@link SearchableStore#getStore}, so
+ * unpacking always yields lists equal to the packed ones.
+ */
+@EqualsAndHashCode
+public final class PackedStoreHours {
+
+    private final long baseEpochSecond;
+    private final int[] packedHours;
+
+    private PackedStoreHours(final long baseEpochSecond, final int[] packedHours) {
+        this.baseEpochSecond = baseEpochSecond;
+        this.packedHours = packedHours;
+    }
+
+    /**
+     * Packs store hours.
+     *
+     * @param operationalDailyHours the store hours
+     * @return the packed hours, null if they can not be packed losslessly: a null list, date or time, a time with a fraction
+     *         of a second, or times too far apart for an int offset
+     */
+    public static PackedStoreHours pack(final List<StoreOperationalDailyHours> operationalDailyHours) {
+        if (operationalDailyHours == null) {
+            return null;
+        }
+
+        int length = 0;
+        for (final StoreOperationalDailyHours dailyHours : operationalDailyHours) {
+            if (dailyHours == null || dailyHours.getOperationalHours() == null) {
+                return null;
+            }
+            length += 2 + 2 * dailyHours.getOperationalHours().size();
+        }
+
+        final long baseEpochSecond = operationalDailyHours.isEmpty() || operationalDailyHours.get(0).getDate() == null
+                ? 0 : operationalDailyHours.get(0).getDate().getEpochSecond();
+        final int[] packedHours = new int[length];
+        int position = 0;
+        for (final StoreOperationalDailyHours dailyHours : operationalDailyHours) {
+            final List<StoreOperationalHours> operationalHours = dailyHours.getOperationalHours();
+            final long date = offset(baseEpochSecond, dailyHours.getDate());
+            if (date == Long.MIN_VALUE) {
+                return null;
+            }
+            packedHours[position++] = (int) date;
+            packedHours[position++] = operationalHours.size();
+            for (final StoreOperationalHours hours : operationalHours) {
+                if (hours == null) {
+                    return null;
+                }
+                final long startTime = offset(baseEpochSecond, hours.getStartTime());
+                final long endTime = offset(baseEpochSecond, hours.getEndTime());
+                if (startTime == Long.MIN_VALUE || endTime == Long.MIN_VALUE) {
+                    return null;
+                }
+                packedHours[position++] = (int) startTime;
+                packedHours[position++] = (int) endTime;
+            }
+        }
+        return new PackedStoreHours(baseEpochSecond, packedHours);
+    }
+
+    /**
+     * Unpacks the store hours into new objects.
+     *
+     * @return the store hours
+     */
+    public List<StoreOperationalDailyHours> unpack() {
+        final List<StoreOperationalDailyHours> operationalDailyHours = new ArrayList<>();
+        int position = 0;
+        while (position < packedHours.length) {
+            final Instant date = toInstant(packedHours[position++]);
+            final int hoursCount = packedHours[position++];
+            final List<StoreOperationalHours> operationalHours = new ArrayList<>(hoursCount);
+            for (int i = 0; i < hoursCount; i++) {
+                operationalHours.add(StoreOperationalHours.builder()
+                        .startTime(toInstant(packedHours[position++]))
+                        .endTime(toInstant(packedHours[position++]))
+                        .build());
+            }
+            operationalDailyHours.add(StoreOperationalDailyHours.builder()
+                    .date(date)
+                    .operationalHours(operationalHours)
+                    .build());
+        }
+        return operationalDailyHours;
+    }
+
+    /**
+     * Gets the number of ints of the packed hours, to estimate their size.
+     *
+     * @return length of the packed array
+     */
+    public int length() {
+        return packedHours.length;
+    }
+
+    /**
+     * Gets the number of days of the packed hours, to estimate their size.
+     *
+     * @return number of days
+     */
+    public int dayCount() {
+        int dayCount = 0;
+        int position = 0;
+        while (position < packedHours.length) {
+            // skips the date, the hours count and the hours of the day
+            position += 2 + 2 * packedHours[position + 1];
+            dayCount++;
+        }
+        return dayCount;
+    }
+
+    // offset of the instant from the base, Long.MIN_VALUE if it can not be packed
+    private static long offset(final long baseEpochSecond, final Instant instant) {
+        if (instant == null || instant.getNano() != 0) {
+            return Long.MIN_VALUE;
+        }
+        final long offset = instant.getEpochSecond() - baseEpochSecond;
+        return offset < Integer.MIN_VALUE || offset > Integer.MAX_VALUE ? Long.MIN_VALUE : offset;
+    }
+
+    private Instant toInstant(final int offset) {
+        return Instant.ofEpochSecond(baseEpochSecond + offset);
+    }
+}
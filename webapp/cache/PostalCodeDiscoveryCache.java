@@ -0,0 +1,117 @@
+package com.amazon.green.book.service.webapp.cache;
+
+import static com.amazon.green.book.service.webapp.constants.BrandConstants.AFS_BRAND_ID;
+import static com.amazon.green.book.service.webapp.constants.CacheConstants.POSTAL_CODE_CACHE_MAX_MB;
+import static com.amazon.green.book.service.webapp.constants.CacheConstants.POSTAL_CODE_CACHE_TTL_MINUTES;
+import static com.amazon.green.book.service.webapp.constants.CacheConstants.POSTAL_CODE_NOT_FOUND_CACHE_MAX_SIZE;
+import static com.amazon.green.book.service.webapp.constants.CacheConstants.POSTAL_CODE_NOT_FOUND_CACHE_TTL_MINUTES;
+import static com.amazon.green.book.service.webapp.constants.MetricsConstants.POSTAL_CODE_CACHE_HIT;
+import static com.amazon.green.book.service.webapp.constants.MetricsConstants.POSTAL_CODE_CACHE_MISS;
+import static com.amazon.green.book.service.webapp.constants.MetricsConstants.POSTAL_CODE_CACHE_NOT_FOUND_HIT;
+
+import com.amazon.green.book.service.model.StoreInformation;
+import com.amazon.green.book.service.webapp.api.AlmStoresServiceApi;
+import com.amazon.green.book.service.webapp.utils.MetricsEmitter;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.common.collect.ImmutableList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import lombok.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Cache of ALM stores discovered near a postal code, shared across customers.
+ *
+ * <p>Postal code discovery is called without customerId, sessionId and ipAddress, so its result only depends on
+ * (almBrandId, marketplaceId, postalCode). Postal codes without stores are remembered for a shorter time in a separate
+ * cache. ALM errors are not cached.
+ *
+ * <p>Discovered stores are bounded by their estimated heap size, see {@link StoreCatalogWeigher}, within a budget of their
+ * own next to the one of StoresForBrandCache.
+ */
+@Component
+public class PostalCodeDiscoveryCache {
+
+    private final AlmStoresServiceApi almStoresServiceApi;
+    private final MetricsEmitter metricsEmitter;
+    private final Cache<PostalCodeCacheKey, List<StoreInformation>> storesCache;
+    private final Cache<PostalCodeCacheKey, Boolean> notFoundCache;
+
+    /**
+     * Constructor for the PostalCodeDiscoveryCache.
+     *
+     * @param almStoresServiceApi the AlmStoresServiceApi used to interact with AlmStoresService
+     * @param metricsEmitter      MetricsEmitter used to count cache hits and misses
+     */
+    public PostalCodeDiscoveryCache(final AlmStoresServiceApi almStoresServiceApi,
+                                    final MetricsEmitter metricsEmitter) {
+        this.almStoresServiceApi = almStoresServiceApi;
+        this.metricsEmitter = metricsEmitter;
+        this.storesCache = Caffeine.newBuilder()
+                .maximumWeight(POSTAL_CODE_CACHE_MAX_MB * 1024 * 1024)
+                .<PostalCodeCacheKey, List<StoreInformation>>weigher((cacheKey, stores) ->
+                        (int) Math.min(Integer.MAX_VALUE, StoreCatalogWeigher.estimateBytes(stores)))
+                .expireAfterWrite(POSTAL_CODE_CACHE_TTL_MINUTES, TimeUnit.MINUTES)
+                .build();
+        this.notFoundCache = Caffeine.newBuilder()
+                .maximumSize(POSTAL_CODE_NOT_FOUND_CACHE_MAX_SIZE)
+                .expireAfterWrite(POSTAL_CODE_NOT_FOUND_CACHE_TTL_MINUTES, TimeUnit.MINUTES)
+                .build();
+    }
+
+    /**
+     * Discover ALM stores near a postal code, from the cache when possible.
+     *
+     * @param almBrandId    an entity that owns regional stores (ALM Stores), either AFS or WFM
+     * @param marketplaceId obfuscated marketplace id
+     * @param postalCode    the postalCode used to find nearby stores
+     * @return future of the list of store info, already completed on cache hits
+     */
+    public CompletableFuture<List<StoreInformation>> discoverStoresAsync(final String almBrandId,
+                                                                         final String marketplaceId,
+                                                                         final String postalCode) {
+        final PostalCodeCacheKey cacheKey = new PostalCodeCacheKey(almBrandId, marketplaceId, postalCode);
+
+        final List<StoreInformation> cachedStores = storesCache.getIfPresent(cacheKey);
+        if (cachedStores != null) {
+            metricsEmitter.emitCount(POSTAL_CODE_CACHE_HIT, 1);
+            return CompletableFuture.completedFuture(cachedStores);
+        }
+
+        if (notFoundCache.getIfPresent(cacheKey) != null) {
+            metricsEmitter.emitCount(POSTAL_CODE_CACHE_NOT_FOUND_HIT, 1);
+            return CompletableFuture.completedFuture(ImmutableList.of());
+        }
+
+        metricsEmitter.emitCount(POSTAL_CODE_CACHE_MISS, 1);
+        final CompletableFuture<List<StoreInformation>> stores = discoverStoresFromAlm(almBrandId, marketplaceId, postalCode);
+        stores.thenAccept(discoveredStores -> {
+            if (discoveredStores.isEmpty()) {
+                notFoundCache.put(cacheKey, Boolean.TRUE);
+            } else {
+                storesCache.put(cacheKey, discoveredStores);
+            }
+        });
+        return stores;
+    }
+
+    private CompletableFuture<List<StoreInformation>> discoverStoresFromAlm(final String almBrandId,
+                                                                            final String marketplaceId,
+                                                                            final String postalCode) {
+        // after validation almBrandId could only be either AFS or WFM
+        if (AFS_BRAND_ID.equals(almBrandId)) {
+            return almStoresServiceApi.discoverGeoInStoreStoresAsync(almBrandId, marketplaceId, null, null, null, postalCode);
+        } else {
+            return almStoresServiceApi.discoverGeoPickupStoresAsync(almBrandId, marketplaceId, null, null, null, postalCode);
+        }
+    }
+
+    @Value
+    private static class PostalCodeCacheKey {
+        String almBrandId;
+        String marketplaceId;
+        String postalCode;
+    }
+}
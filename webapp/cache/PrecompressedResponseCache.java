@@ -0,0 +1,71 @@
+package com.amazon.green.book.service.webapp.cache;
+
+import static com.amazon.green.book.service.webapp.constants.CacheConstants.CACHE_TTL_HOURS;
+import static com.amazon.green.book.service.webapp.constants.CacheConstants.PRECOMPRESSED_RESPONSE_CACHE_MAX_MB;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import lombok.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Cache of the encoded search responses of the brand catalogs, gzipped or not, keyed by {@link CatalogSearchKey}.
+ *
+ * <p>A response is serialized and compressed once per catalog, generation and query rather than on every request, see
+ * CompressibleResponseHttpMessageConverter. Entries of former generations are no longer looked up and age out of the cache.
+ * The cache is bounded by the size of the encoded bodies.
+ */
+@Component
+public class PrecompressedResponseCache {
+
+    private final Cache<CatalogSearchKey, EncodedBody> encodedBodies = Caffeine.newBuilder()
+            .maximumWeight(PRECOMPRESSED_RESPONSE_CACHE_MAX_MB * 1024 * 1024)
+            .<CatalogSearchKey, EncodedBody>weigher((searchKey, encodedBody) -> encodedBody.getBytes().length)
+            .expireAfterWrite(CACHE_TTL_HOURS, TimeUnit.HOURS)
+            .recordStats()
+            .build();
+
+    /**
+     * Gets the encoded body of a response, encoding it on a miss.
+     *
+     * @param searchKey identifies the response
+     * @param encoder   encodes the response, only called on a miss
+     * @return the encoded body
+     */
+    public EncodedBody get(final CatalogSearchKey searchKey, final Function<CatalogSearchKey, EncodedBody> encoder) {
+        return encodedBodies.get(searchKey, encoder);
+    }
+
+    /**
+     * Cumulative statistics of the cache: hits, misses, load successes and failures, evictions.
+     *
+     * @return a snapshot of the cache stats
+     */
+    public CacheStats getStats() {
+        return encodedBodies.stats();
+    }
+
+    /**
+     * Total size of the cached bodies.
+     *
+     * @return size of the cached bodies in bytes
+     */
+    public long getWeightedSize() {
+        return encodedBodies.policy().eviction()
+                .map(eviction -> eviction.weightedSize().orElse(0))
+                .orElse(0L);
+    }
+
+    /**
+     * Response body as written to the client.
+     */
+    @Value
+    public static class EncodedBody {
+
+        byte[] bytes;
+        boolean gzipped;
+    }
+}
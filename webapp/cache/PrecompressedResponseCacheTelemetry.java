@@ -0,0 +1,59 @@
+package com.amazon.green.book.service.webapp.cache;
+
+import static com.amazon.green.book.service.webapp.constants.MetricsConstants.PRECOMPRESSED_RESPONSE_CACHE_EVICTION;
+import static com.amazon.green.book.service.webapp.constants.MetricsConstants.PRECOMPRESSED_RESPONSE_CACHE_HIT;
+import static com.amazon.green.book.service.webapp.constants.MetricsConstants.PRECOMPRESSED_RESPONSE_CACHE_MISS;
+import static com.amazon.green.book.service.webapp.constants.MetricsConstants.PRECOMPRESSED_RESPONSE_CACHE_OPERATION;
+import static com.amazon.green.book.service.webapp.constants.MetricsConstants.PRECOMPRESSED_RESPONSE_CACHE_SIZE;
+
+import com.amazon.green.book.service.webapp.utils.MetricsEmitter;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.google.common.collect.ImmutableMap;
+import javax.measure.unit.NonSI;
+import javax.measure.unit.Unit;
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * Periodically exports the PrecompressedResponseCache statistics.
+ *
+ * <p>Each run emits the hits, misses and evictions since the previous run, and the current size of the cached bodies.
+ */
+@Log4j2
+public class PrecompressedResponseCacheTelemetry implements Runnable {
+
+    private final PrecompressedResponseCache precompressedResponseCache;
+    private final MetricsEmitter metricsEmitter;
+    // Only accessed by the single scheduler thread
+    private CacheStats previousStats = CacheStats.empty();
+
+    /**
+     * Constructor for the PrecompressedResponseCacheTelemetry.
+     *
+     * @param precompressedResponseCache the cache to export the statistics of
+     * @param metricsEmitter             MetricsEmitter used to emit the statistics
+     */
+    public PrecompressedResponseCacheTelemetry(final PrecompressedResponseCache precompressedResponseCache,
+                                               final MetricsEmitter metricsEmitter) {
+        this.precompressedResponseCache = precompressedResponseCache;
+        this.metricsEmitter = metricsEmitter;
+    }
+
+    @Override
+    public void run() {
+        // a scheduled task that throws is never run again
+        try {
+            final CacheStats currentStats = precompressedResponseCache.getStats();
+            final CacheStats stats = currentStats.minus(previousStats);
+            previousStats = currentStats;
+
+            metricsEmitter.emitStandalone(PRECOMPRESSED_RESPONSE_CACHE_OPERATION, ImmutableMap.of(), metrics -> {
+                metrics.addCount(PRECOMPRESSED_RESPONSE_CACHE_HIT, stats.hitCount(), Unit.ONE);
+                metrics.addCount(PRECOMPRESSED_RESPONSE_CACHE_MISS, stats.missCount(), Unit.ONE);
+                metrics.addCount(PRECOMPRESSED_RESPONSE_CACHE_EVICTION, stats.evictionCount(), Unit.ONE);
+                metrics.addLevel(PRECOMPRESSED_RESPONSE_CACHE_SIZE, precompressedResponseCache.getWeightedSize(), NonSI.BYTE);
+            });
+        } catch (RuntimeException exception) {
+            log.error("Failed to export PrecompressedResponseCache statistics.", exception);
+        }
+    }
+}
@@ -0,0 +1,258 @@
+package com.amazon.green.book.service.webapp.cache;
+
+import static com.amazon.green.book.service.webapp.context.SearchStoreRequestContext.SPACE;
+import static com.google.common.base.Strings.nullToEmpty;
+
+import com.amazon.green.book.service.model.StoreInformation;
+import com.amazon.green.book.service.model.StoreOperationalDailyHours;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+/**
+ * Cached store together with its search fields, normalized once per catalog load.
+ *
+ * <p>City and state are pre-split into lower case words and the postal code is trimmed and lower cased, so matching a
+ * store against a search query does not allocate.
+ *
+ * <p>The store hours, most of the heap of a cached store, are kept packed, see {@link PackedStoreHours}. The full
+ * StoreInformation is only materialized when the store is serialized or handed out, see {@link #getStore}.
+ */
+@Getter
+public class SearchableStore {
+
+    // the store without its hours, or with them as is when they could not be packed
+    @Getter(AccessLevel.PACKAGE)
+    private final StoreInformation compactStore;
+    // null when the hours are kept in compactStore
+    @Getter(AccessLevel.PACKAGE)
+    private final PackedStoreHours packedHours;
+    private final String[] cityStateWords;
+    private final String postalCode;
+    // UTF-8 JSON encoding of the store, serialized on first use and then shared by every response of this catalog generation
+    // counted in the catalog weight before it is serialized, see StoreCatalogWeigher
+    @Getter(AccessLevel.NONE)
+    private volatile byte[] jsonFragment;
+
+    /**
+     * Constructor for the SearchableStore.
+     *
+     * @param store the store to make searchable
+     */
+    public SearchableStore(final StoreInformation store) {
+        this(store, PackedStoreHours.pack(store.getOperationalDailyHours()));
+    }
+
+    private SearchableStore(final StoreInformation store, final PackedStoreHours packedHours) {
+        this.packedHours = packedHours;
+        this.compactStore = packedHours == null ? store : copyOf(store, null);
+        // These lines are needed so that city with multiple words get broken down into multiple words properly
+        // For example "Salt Lake City UT" -> cityStateWords = ["salt", "lake", "city", "ut"]
+        this.cityStateWords = Arrays.stream((nullToEmpty(store.getCity()) + SPACE + nullToEmpty(store.getState())).split(SPACE))
+                .filter(word -> !word.isEmpty())
+                .map(SearchableStore::normalize)
+                .toArray(String[]::new);
+        this.postalCode = store.getPostalCode() == null ? null : normalize(store.getPostalCode().trim());
+    }
+
+    private SearchableStore(final StoreInformation compactStore,
+                            final PackedStoreHours packedHours,
+                            final String[] cityStateWords,
+                            final String postalCode) {
+        this.compactStore = compactStore;
+        this.packedHours = packedHours;
+        this.cityStateWords = cityStateWords;
+        this.postalCode = postalCode;
+    }
+
+    /**
+     * Materializes the store, unpacking its hours into new objects.
+     *
+     * @return the store, a new instance on every call when its hours are packed
+     */
+    public StoreInformation getStore() {
+        return packedHours == null ? compactStore : copyOf(compactStore, packedHours.unpack());
+    }
+
+    /**
+     * Materializes the store with its distance from a search center.
+     *
+     * @param distanceInMiles the distance of the store
+     * @return a copy of the store with distanceInMiles filled in
+     */
+    public StoreInformation getStoreWithDistance(final double distanceInMiles) {
+        return copyOf(compactStore, packedHours == null ? compactStore.getOperationalDailyHours() : packedHours.unpack(),
+                distanceInMiles, null);
+    }
+
+    public String getStoreId() {
+        return compactStore.getStoreId();
+    }
+
+    public Double getLatitude() {
+        return compactStore.getLatitude();
+    }
+
+    public Double getLongitude() {
+        return compactStore.getLongitude();
+    }
+
+    /**
+     * Checks whether a store, typically fetched again from ALM, has the same details as this one, i.e. every field but its
+     * hours. The fields are compared one by one, the hours of a store typically change on every refresh as its window of days
+     * moves.
+     *
+     * @param store the store to compare
+     * @return true if all fields but the hours are equal
+     */
+    public boolean hasSameDetailsAs(final StoreInformation store) {
+        return Objects.equals(compactStore.getStoreId(), store.getStoreId())
+                && Objects.equals(compactStore.getLibbyStoreId(), store.getLibbyStoreId())
+                && Objects.equals(compactStore.getName(), store.getName())
+                && Objects.equals(compactStore.getDistanceInMiles(), store.getDistanceInMiles())
+                && Objects.equals(compactStore.getAddressLines(), store.getAddressLines())
+                && Objects.equals(compactStore.getCity(), store.getCity())
+                && Objects.equals(compactStore.getState(), store.getState())
+                && Objects.equals(compactStore.getPostalCode(), store.getPostalCode())
+                && Objects.equals(compactStore.getTimezone(), store.getTimezone())
+                && Objects.equals(compactStore.getLongitude(), store.getLongitude())
+                && Objects.equals(compactStore.getLatitude(), store.getLatitude());
+    }
+
+    /**
+     * Checks whether a store, typically fetched again from ALM, has the same hours as this one.
+     *
+     * @param store            the store to compare
+     * @param storePackedHours hours of the store packed by {@link PackedStoreHours#pack}, reused by {@link #withHoursOf}
+     * @return true if the materialized hours would be equal
+     */
+    public boolean hasSameHoursAs(final StoreInformation store, final PackedStoreHours storePackedHours) {
+        if (packedHours != null && storePackedHours != null) {
+            return packedHours.equals(storePackedHours);
+        }
+        return packedHours == null && storePackedHours == null
+                && Objects.equals(compactStore.getOperationalDailyHours(), store.getOperationalDailyHours());
+    }
+
+    /**
+     * Replaces the hours of the store, keeping its other fields and normalized search fields, see {@link #hasSameDetailsAs}.
+     *
+     * @param store            the store to take the hours of, with the same details as this one
+     * @param storePackedHours hours of the store packed by {@link PackedStoreHours#pack}
+     * @return the store with the new hours
+     */
+    public SearchableStore withHoursOf(final StoreInformation store, final PackedStoreHours storePackedHours) {
+        if (packedHours == null || storePackedHours == null) {
+            // the hours are, or would have to be, kept in the store itself
+            return new SearchableStore(store, storePackedHours);
+        }
+        return new SearchableStore(compactStore, storePackedHours, cityStateWords, postalCode);
+    }
+
+    /**
+     * Matches the store against a search query.
+     *
+     * @param postalCodePrefix normalized postal code prefix the store should match, null to not filter by postal code
+     * @param queryWords       normalized alpha words of the query, each should be a prefix of a store city or state word
+     * @return true if the store matches all criteria
+     */
+    public boolean matches(final String postalCodePrefix, final List<String> queryWords) {
+        if (postalCodePrefix != null && (postalCode == null || !postalCode.startsWith(postalCodePrefix))) {
+            return false;
+        }
+
+        for (int i = 0; i < queryWords.size(); i++) {
+            if (!hasWordStartingWith(queryWords.get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Gets the JSON encoding of the store, serializing it on first use.
+     *
+     * <p>Concurrent first uses may both serialize the store, they produce the same bytes.
+     *
+     * @param serializer serializes a store to UTF-8 JSON
+     * @return UTF-8 JSON of the store, must not be modified
+     */
+    public byte[] getJsonFragment(final Function<StoreInformation, byte[]> serializer) {
+        byte[] fragment = jsonFragment;
+        if (fragment == null) {
+            fragment = serializer.apply(getStore());
+            jsonFragment = fragment;
+        }
+        return fragment;
+    }
+
+    /**
+     * Normalizes a search token the same way the store search fields are.
+     *
+     * @param token search token
+     * @return normalized token
+     */
+    public static String normalize(final String token) {
+        return token.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Copies a store with other hours. This and {@link #copyOf(StoreInformation, List, Double, UnaryOperator)} are the only
+     * places listing every field of a store, so that a new field can not be dropped by one copy and not by the others.
+     *
+     * @param store                 the store to copy
+     * @param operationalDailyHours the hours of the copy
+     * @return the copy
+     */
+    static StoreInformation copyOf(final StoreInformation store, final List<StoreOperationalDailyHours> operationalDailyHours) {
+        return copyOf(store, operationalDailyHours, store.getDistanceInMiles(), null);
+    }
+
+    /**
+     * Copies a store with other hours and distance, replacing the strings repeated across stores: address lines, city, state
+     * and timezone.
+     *
+     * @param store                 the store to copy
+     * @param operationalDailyHours the hours of the copy
+     * @param distanceInMiles       the distance of the copy
+     * @param repeatedStrings       maps each repeated string to the instance to use in the copy, null to keep them as is
+     * @return the copy
+     */
+    static StoreInformation copyOf(final StoreInformation store,
+                                   final List<StoreOperationalDailyHours> operationalDailyHours,
+                                   final Double distanceInMiles,
+                                   final UnaryOperator<String> repeatedStrings) {
+        final UnaryOperator<String> strings = repeatedStrings == null ? UnaryOperator.identity() : repeatedStrings;
+        return StoreInformation.builder()
+                .storeId(store.getStoreId())
+                .libbyStoreId(store.getLibbyStoreId())
+                .name(store.getName())
+                .operationalDailyHours(operationalDailyHours)
+                .distanceInMiles(distanceInMiles)
+                // a new list only when its lines are replaced
+                .addressLines(repeatedStrings == null || store.getAddressLines() == null ? store.getAddressLines()
+                        : store.getAddressLines().stream().map(repeatedStrings).collect(Collectors.toList()))
+                .city(strings.apply(store.getCity()))
+                .state(strings.apply(store.getState()))
+                .postalCode(store.getPostalCode())
+                .timezone(strings.apply(store.getTimezone()))
+                .longitude(store.getLongitude())
+                .latitude(store.getLatitude())
+                .build();
+    }
+
+    private boolean hasWordStartingWith(final String queryWord) {
+        for (final String cityStateWord : cityStateWords) {
+            if (cityStateWord.startsWith(queryWord)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,103 @@
+package com.amazon.green.book.service.webapp.cache;
+
+import com.amazon.green.book.service.model.StoreInformation;
+import com.google.common.collect.ImmutableList;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import java.util.List;
+import java.util.function.Function;
+import lombok.Getter;
+
+/**
+ * Immutable generation of all stores for an (almBrandId, marketPlaceId), together with the lookup structures built over it.
+ *
+ * <p>A new catalog is built by {@link StoresForBrandCacheLoader} on every cache load/refresh, so the structures below are
+ * computed once per refresh instead of once per request.
+ *
+ * <p>The version identifies the content of a generation: it is the 128-bit hash of the JSON array of the stores in order, as
+ * written to responses. It is hashed from the memoized JSON fragments of the stores, see
+ * {@link SearchableStore#getJsonFragment}, so computing it on the first search of a generation also serializes the stores for
+ * every later response. A refresh that finds the same stores yields the same version, on every host and across restarts,
+ * and any change of a serialized field yields another one. Responses derived from a catalog are versioned by it, see
+ * SearchStoresController.
+ */
+public class StoreCatalog {
+
+    private static final byte[] ARRAY_START = {'['};
+    private static final byte[] ARRAY_SEPARATOR = {','};
+    private static final byte[] ARRAY_END = {']'};
+
+    @Getter
+    private final List<SearchableStore> searchableStores;
+    @Getter
+    private final StoreSpatialIndex spatialIndex;
+    @Getter
+    private final StoreSearchIndex searchIndex;
+    // computed on first use, concurrent first uses compute the same version
+    private volatile HashCode version;
+
+    /**
+     * Constructor for the StoreCatalog.
+     *
+     * @param searchableStores all stores of the brand in the marketplace
+     */
+    public StoreCatalog(final List<SearchableStore> searchableStores) {
+        this.searchableStores = searchableStores;
+        this.spatialIndex = new StoreSpatialIndex(searchableStores);
+        this.searchIndex = new StoreSearchIndex(searchableStores);
+    }
+
+    /**
+     * Gets the version of the catalog, serializing the stores that were not serialized yet on first use.
+     *
+     * @param storeSerializer serializes a store to UTF-8 JSON, the one writing the stores to responses
+     * @return the version of the catalog
+     */
+    public HashCode getVersion(final Function<StoreInformation, byte[]> storeSerializer) {
+        HashCode currentVersion = version;
+        if (currentVersion == null) {
+            final Hasher hasher = Hashing.murmur3_128().newHasher();
+            hasher.putBytes(ARRAY_START);
+            for (int i = 0; i < searchableStores.size(); i++) {
+                if (i > 0) {
+                    hasher.putBytes(ARRAY_SEPARATOR);
+                }
+                hasher.putBytes(searchableStores.get(i).getJsonFragment(storeSerializer));
+            }
+            hasher.putBytes(ARRAY_END);
+            currentVersion = hasher.hash();
+            version = currentVersion;
+        }
+        return currentVersion;
+    }
+
+    /**
+     * Materializes all stores of the catalog, see {@link SearchableStore#getStore}.
+     *
+     * @return the stores, in catalog order
+     */
+    public List<StoreInformation> getStores() {
+        return materialize(searchableStores);
+    }
+
+    /**
+     * Materializes stores of a catalog, see {@link SearchableStore#getStore}.
+     *
+     * @param searchableStores the stores to materialize
+     * @return the stores, in the same order
+     */
+    public static List<StoreInformation> materialize(final List<SearchableStore> searchableStores) {
+        return searchableStores.stream().map(SearchableStore::getStore).collect(ImmutableList.toImmutableList());
+    }
+
+    /**
+     * Builds the catalog of the given stores, normalizing their search fields.
+     *
+     * @param stores all stores of the brand in the marketplace
+     * @return the catalog
+     */
+    public static StoreCatalog of(final List<StoreInformation> stores) {
+        return new StoreCatalog(stores.stream().map(SearchableStore::new).collect(ImmutableList.toImmutableList()));
+    }
+}
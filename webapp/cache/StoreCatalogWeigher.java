@@ -0,0 +1,182 @@
+package com.amazon.green.book.service.webapp.cache;
+
+import com.amazon.green.book.service.model.StoreInformation;
+import com.amazon.green.book.service.model.StoreOperationalDailyHours;
+import com.github.benmanes.caffeine.cache.Weigher;
+import java.util.List;
+
+/**
+ * Weighs a cached StoreCatalog by an estimate of its retained heap size in bytes.
+ *
+ * <p>The estimate assumes a 64-bit JVM with compressed oops and compact (Latin-1) strings. It is meant to keep the cache
+ * within its memory budget, not to be exact: shared instances are counted once per reference and the lookup structures
+ * are approximated per store.
+ *
+ * <p>The JSON fragment each store memoizes on its first response is serialized after the catalog is weighed, and a cached
+ * catalog is never weighed again, so its size is estimated up front from the lengths of the serialized values.
+ */
+public class StoreCatalogWeigher implements Weigher<StoresCacheKey, StoreCatalog> {
+
+    private static final int OBJECT_HEADER_BYTES = 16;
+    private static final int REFERENCE_BYTES = 4;
+    private static final int STRING_BYTES = 40;
+    private static final int LIST_BYTES = 40;
+    private static final int BOXED_DOUBLE_BYTES = 16;
+    private static final int INSTANT_BYTES = 24;
+    private static final int INT_BYTES = 4;
+    // PackedStoreHours with its base epoch second and array reference
+    private static final int PACKED_STORE_HOURS_BYTES = OBJECT_HEADER_BYTES + 8 + REFERENCE_BYTES;
+    // StoreInformation with its 12 fields
+    private static final int STORE_INFORMATION_BYTES = OBJECT_HEADER_BYTES + 12 * REFERENCE_BYTES;
+    // Postings in the search index and slot in the spatial index, see StoreSearchIndex and StoreSpatialIndex
+    private static final int INDEX_BYTES_PER_STORE = 64;
+    // JSON of a store without its values: braces, quoted field names, colons and commas
+    private static final int JSON_STORE_BYTES = 170;
+    // JSON of a daily hours and of an hours range without their instants
+    private static final int JSON_DAILY_HOURS_BYTES = 32;
+    private static final int JSON_HOURS_BYTES = 28;
+    // a quoted ISO-8601 instant, the longer of its encodings
+    private static final int JSON_INSTANT_BYTES = 26;
+    private static final int JSON_NUMBER_BYTES = 20;
+
+    @Override
+    public int weigh(final StoresCacheKey cacheKey, final StoreCatalog catalog) {
+        return (int) Math.min(Integer.MAX_VALUE, estimateBytes(catalog));
+    }
+
+    /**
+     * Estimates the retained heap size of a catalog.
+     *
+     * @param catalog the catalog to estimate
+     * @return estimated size in bytes
+     */
+    public static long estimateBytes(final StoreCatalog catalog) {
+        long bytes = OBJECT_HEADER_BYTES + 3L * REFERENCE_BYTES + 8 + listBytes(catalog.getSearchableStores().size());
+        for (final SearchableStore searchableStore : catalog.getSearchableStores()) {
+            bytes += estimateBytes(searchableStore) + INDEX_BYTES_PER_STORE;
+        }
+        return bytes;
+    }
+
+    /**
+     * Estimates the retained heap size of a list of stores, e.g. a cached ALM response.
+     *
+     * @param stores the stores to estimate
+     * @return estimated size in bytes
+     */
+    public static long estimateBytes(final List<StoreInformation> stores) {
+        long bytes = listBytes(stores.size());
+        for (final StoreInformation store : stores) {
+            bytes += estimateBytes(store);
+        }
+        return bytes;
+    }
+
+    private static long estimateBytes(final SearchableStore searchableStore) {
+        long bytes = OBJECT_HEADER_BYTES + 5L * REFERENCE_BYTES + arrayBytes(searchableStore.getCityStateWords().length)
+                + stringBytes(searchableStore.getPostalCode());
+        for (final String word : searchableStore.getCityStateWords()) {
+            bytes += stringBytes(word);
+        }
+        final PackedStoreHours packedHours = searchableStore.getPackedHours();
+        if (packedHours != null) {
+            bytes += PACKED_STORE_HOURS_BYTES + OBJECT_HEADER_BYTES + (long) packedHours.length() * INT_BYTES;
+            // JSON of the packed hours in the memoized fragment, each day is packed as its date, hours count and hours
+            final int dayCount = packedHours.dayCount();
+            bytes += estimateHoursJsonBytes(dayCount, (packedHours.length() - 2L * dayCount) / 2);
+        }
+        // the memoized JSON fragment, with the hours kept in the compact store if they are not packed
+        return bytes + estimateBytes(searchableStore.getCompactStore()) + OBJECT_HEADER_BYTES
+                + estimateJsonBytes(searchableStore.getCompactStore());
+    }
+
+    private static long estimateJsonBytes(final StoreInformation store) {
+        long bytes = JSON_STORE_BYTES
+                + jsonStringBytes(store.getStoreId())
+                + jsonStringBytes(store.getLibbyStoreId())
+                + jsonStringBytes(store.getName())
+                + jsonStringBytes(store.getCity())
+                + jsonStringBytes(store.getState())
+                + jsonStringBytes(store.getPostalCode())
+                + jsonStringBytes(store.getTimezone())
+                + 3 * JSON_NUMBER_BYTES;
+
+        final List<String> addressLines = store.getAddressLines();
+        if (addressLines != null) {
+            for (final String addressLine : addressLines) {
+                bytes += jsonStringBytes(addressLine) + 1;
+            }
+        }
+
+        final List<StoreOperationalDailyHours> operationalDailyHours = store.getOperationalDailyHours();
+        if (operationalDailyHours != null) {
+            for (final StoreOperationalDailyHours dailyHours : operationalDailyHours) {
+                final int hoursCount = dailyHours.getOperationalHours() == null ? 0 : dailyHours.getOperationalHours().size();
+                bytes += estimateHoursJsonBytes(1, hoursCount);
+            }
+        }
+        return bytes;
+    }
+
+    private static long estimateHoursJsonBytes(final int dayCount, final long hoursCount) {
+        return dayCount * (long) (JSON_DAILY_HOURS_BYTES + JSON_INSTANT_BYTES)
+                + hoursCount * (JSON_HOURS_BYTES + 2L * JSON_INSTANT_BYTES);
+    }
+
+    private static long estimateBytes(final StoreInformation store) {
+        long bytes = STORE_INFORMATION_BYTES
+                + stringBytes(store.getStoreId())
+                + stringBytes(store.getLibbyStoreId())
+                + stringBytes(store.getName())
+                + stringBytes(store.getCity())
+                + stringBytes(store.getState())
+                + stringBytes(store.getPostalCode())
+                + stringBytes(store.getTimezone())
+                + (store.getDistanceInMiles() == null ? 0 : BOXED_DOUBLE_BYTES)
+                + (store.getLongitude() == null ? 0 : BOXED_DOUBLE_BYTES)
+                + (store.getLatitude() == null ? 0 : BOXED_DOUBLE_BYTES);
+
+        final List<String> addressLines = store.getAddressLines();
+        if (addressLines != null) {
+            bytes += listBytes(addressLines.size());
+            for (final String addressLine : addressLines) {
+                bytes += stringBytes(addressLine);
+            }
+        }
+
+        final List<StoreOperationalDailyHours> operationalDailyHours = store.getOperationalDailyHours();
+        if (operationalDailyHours != null) {
+            bytes += listBytes(operationalDailyHours.size());
+            for (final StoreOperationalDailyHours dailyHours : operationalDailyHours) {
+                final int hoursCount = dailyHours.getOperationalHours() == null ? 0 : dailyHours.getOperationalHours().size();
+                // date, hours list and per hours object its start and end time
+                bytes += OBJECT_HEADER_BYTES + 2 * REFERENCE_BYTES + INSTANT_BYTES + listBytes(hoursCount)
+                        + hoursCount * (OBJECT_HEADER_BYTES + 2L * REFERENCE_BYTES + 2L * INSTANT_BYTES);
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * Estimates the heap size of a string.
+     *
+     * @param value the string, may be null
+     * @return estimated size in bytes, 0 for null
+     */
+    static long stringBytes(final String value) {
+        return value == null ? 0 : STRING_BYTES + value.length();
+    }
+
+    // quoted, non-ASCII characters counted as one byte
+    private static long jsonStringBytes(final String value) {
+        return value == null ? 0 : 2 + value.length();
+    }
+
+    private static long listBytes(final int size) {
+        return LIST_BYTES + arrayBytes(size);
+    }
+
+    private static long arrayBytes(final int length) {
+        return OBJECT_HEADER_BYTES + (long) length * REFERENCE_BYTES;
+    }
+}
@@ -0,0 +1,44 @@
+package com.amazon.green.book.service.webapp.cache;
+
+import com.amazon.green.book.service.model.StoreInformation;
+import com.amazon.green.book.service.webapp.utils.AlmTimestampParser;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.TypeAdapter;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.time.Instant;
+import java.util.List;
+import lombok.experimental.UtilityClass;
+
+/**
+ * JSON encoding of the cached stores in the catalog snapshots, see CatalogSnapshotStore.
+ *
+ * <p>Instants are written as ISO-8601 strings rather than through reflection on java.time internals.
+ */
+@UtilityClass
+class StoreJson {
+
+    static final Type STORES_TYPE = new TypeToken<List<StoreInformation>>() { }.getType();
+
+    static final Gson GSON = new GsonBuilder()
+            .registerTypeAdapter(Instant.class, new InstantTypeAdapter().nullSafe())
+            .create();
+
+    private static final class InstantTypeAdapter extends TypeAdapter<Instant> {
+
+        @Override
+        public void write(final JsonWriter out, final Instant value) throws IOException {
+            out.value(value.toString());
+        }
+
+        @Override
+        public Instant read(final JsonReader in) throws IOException {
+            // written by Instant.toString, in the same format as ALM timestamps unless they have fractional seconds
+            return AlmTimestampParser.parse(in.nextString());
+        }
+    }
+}
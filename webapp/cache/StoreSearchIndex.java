@@ -0,0 +1,176 @@
+package com.amazon.green.book.service.webapp.cache;
+
+import static com.amazon.green.book.service.webapp.cache.SearchableStore.normalize;
+
+import com.google.common.collect.ImmutableList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Inverted index over the city, state and postal code of the stores of a brand catalog.
+ *
+ * <p>Both dictionaries are sorted arrays of case-folded tokens, each with the sorted positions of the stores containing it.
+ * All tokens sharing a prefix are adjacent, so a query word is resolved with a binary search followed by a scan of the
+ * matching tokens only, and query words are AND-ed by intersecting their postings. The cost of a search therefore depends
+ * on the number of matching stores rather than on the size of the catalog.
+ *
+ * <p>Matching is the same as {@link SearchableStore#matches}: every query word has to be a prefix of a normalized word of
+ * the store city or state, and the postal code a prefix of the store normalized postal code.
+ */
+public class StoreSearchIndex {
+
+    private static final int[] NO_POSTINGS = new int[0];
+
+    private final List<SearchableStore> searchableStores;
+    private final String[] cityStateTokens;
+    private final int[][] cityStatePostings;
+    private final String[] postalCodeTokens;
+    private final int[][] postalCodePostings;
+
+    /**
+     * Builds the index over the given stores.
+     *
+     * @param searchableStores the stores to index, the list is expected to be immutable
+     */
+    public StoreSearchIndex(final List<SearchableStore> searchableStores) {
+        this.searchableStores = searchableStores;
+
+        final TreeMap<String, List<Integer>> cityStateDictionary = new TreeMap<>();
+        final TreeMap<String, List<Integer>> postalCodeDictionary = new TreeMap<>();
+        for (int i = 0; i < searchableStores.size(); i++) {
+            final SearchableStore searchableStore = searchableStores.get(i);
+            for (final String cityStateWord : searchableStore.getCityStateWords()) {
+                addPosting(cityStateDictionary, cityStateWord, i);
+            }
+            if (searchableStore.getPostalCode() != null) {
+                addPosting(postalCodeDictionary, searchableStore.getPostalCode(), i);
+            }
+        }
+
+        this.cityStateTokens = cityStateDictionary.keySet().toArray(new String[0]);
+        this.cityStatePostings = toPostings(cityStateDictionary);
+        this.postalCodeTokens = postalCodeDictionary.keySet().toArray(new String[0]);
+        this.postalCodePostings = toPostings(postalCodeDictionary);
+    }
+
+    /**
+     * Finds the stores matching a search query, together with their search fields and JSON fragment.
+     *
+     * @param postalCode the postalCode prefix the stores should match, null to not filter by postal code
+     * @param queryWords the normalized alpha words of the search query, each a prefix of a store city or state word
+     * @return matching stores in catalog order
+     */
+    public List<SearchableStore> searchSearchableStores(final String postalCode, final List<String> queryWords) {
+        return collect(searchableStores, findMatches(postalCode, queryWords));
+    }
+
+    // positions of the matching stores, null if there are no criteria and every store matches
+    private int[] findMatches(final String postalCode, final List<String> queryWords) {
+        int[] matches = null;
+
+        if (postalCode != null) {
+            matches = findByPrefix(postalCodeTokens, postalCodePostings, normalize(postalCode));
+        }
+
+        for (final String queryWord : queryWords) {
+            final int[] wordMatches = findByPrefix(cityStateTokens, cityStatePostings, queryWord);
+            matches = matches == null ? wordMatches : intersect(matches, wordMatches);
+            if (matches.length == 0) {
+                break;
+            }
+        }
+        return matches;
+    }
+
+    private static <T> List<T> collect(final List<T> catalogStores, final int[] matches) {
+        if (matches == null) {
+            return catalogStores;
+        }
+
+        final ImmutableList.Builder<T> result = ImmutableList.builderWithExpectedSize(matches.length);
+        for (final int storeIndex : matches) {
+            result.add(catalogStores.get(storeIndex));
+        }
+        return result.build();
+    }
+
+    private static int[] findByPrefix(final String[] tokens, final int[][] postings, final String prefix) {
+        // first token >= prefix, every token starting with the prefix follows it
+        int from = Arrays.binarySearch(tokens, prefix);
+        if (from < 0) {
+            from = -from - 1;
+        }
+
+        int to = from;
+        while (to < tokens.length && tokens[to].startsWith(prefix)) {
+            to++;
+        }
+
+        if (to == from) {
+            return NO_POSTINGS;
+        } else if (to - from == 1) {
+            return postings[from];
+        }
+        return union(postings, from, to);
+    }
+
+    private static int[] union(final int[][] postings, final int from, final int to) {
+        int size = 0;
+        for (int i = from; i < to; i++) {
+            size += postings[i].length;
+        }
+
+        final int[] merged = new int[size];
+        int position = 0;
+        for (int i = from; i < to; i++) {
+            System.arraycopy(postings[i], 0, merged, position, postings[i].length);
+            position += postings[i].length;
+        }
+        Arrays.sort(merged);
+
+        // a store containing several tokens with the same prefix, e.g. "New" and "Newark", shows up once per token
+        int distinct = 0;
+        for (int i = 0; i < merged.length; i++) {
+            if (distinct == 0 || merged[distinct - 1] != merged[i]) {
+                merged[distinct++] = merged[i];
+            }
+        }
+        return Arrays.copyOf(merged, distinct);
+    }
+
+    private static int[] intersect(final int[] left, final int[] right) {
+        final int[] intersection = new int[Math.min(left.length, right.length)];
+        int size = 0;
+        int i = 0;
+        int j = 0;
+        while (i < left.length && j < right.length) {
+            if (left[i] < right[j]) {
+                i++;
+            } else if (left[i] > right[j]) {
+                j++;
+            } else {
+                intersection[size++] = left[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(intersection, size);
+    }
+
+    private static void addPosting(final Map<String, List<Integer>> dictionary, final String token, final int storeIndex) {
+        final List<Integer> storeIndexes = dictionary.computeIfAbsent(token, key -> new ArrayList<>());
+        // stores are added in order, so a store repeating a word in its city and state already is the last posting
+        if (storeIndexes.isEmpty() || storeIndexes.get(storeIndexes.size() - 1) != storeIndex) {
+            storeIndexes.add(storeIndex);
+        }
+    }
+
+    private static int[][] toPostings(final TreeMap<String, List<Integer>> dictionary) {
+        return dictionary.values().stream()
+                .map(storeIndexes -> storeIndexes.stream().mapToInt(Integer::intValue).toArray())
+                .toArray(int[][]::new);
+    }
+}
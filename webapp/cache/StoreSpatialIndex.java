@@ -0,0 +1,126 @@
+package com.amazon.green.book.service.webapp.cache;
+
+import com.amazon.green.book.service.model.StoreInformation;
+import com.google.common.collect.ImmutableList;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Grid based spatial index over the stores of a brand catalog.
+ *
+ * <p>Stores are bucketed into cells of {@code CELL_SIZE_DEGREES} by latitude/longitude, so a radius query only computes
+ * distances for the stores in the few cells overlapping the bounding box of the search circle instead of the whole catalog.
+ * Stores without a geocode are not indexed.
+ */
+public class StoreSpatialIndex {
+
+    private static final double CELL_SIZE_DEGREES = 0.5;
+    private static final double EARTH_RADIUS_MILES = 3958.8;
+    private static final double MILES_PER_DEGREE_LATITUDE = 69.0;
+    // Avoids dividing by ~0 when computing the longitude span of a circle close to the poles
+    private static final double MIN_COS_LATITUDE = 0.01;
+
+    private final List<SearchableStore> stores;
+    private final Map<Long, int[]> storeIndexesByCell;
+
+    /**
+     * Builds the index over the given stores.
+     *
+     * @param stores the stores to index, the list is expected to be immutable
+     */
+    public StoreSpatialIndex(final List<SearchableStore> stores) {
+        this.stores = stores;
+
+        final Map<Long, List<Integer>> storeIndexListsByCell = new HashMap<>();
+        for (int i = 0; i < stores.size(); i++) {
+            final SearchableStore store = stores.get(i);
+            if (store.getLatitude() == null || store.getLongitude() == null) {
+                continue;
+            }
+            storeIndexListsByCell
+                    .computeIfAbsent(cellKey(toCell(store.getLatitude()), toCell(store.getLongitude())), key -> new ArrayList<>())
+                    .add(i);
+        }
+
+        this.storeIndexesByCell = new HashMap<>(storeIndexListsByCell.size() * 2);
+        storeIndexListsByCell.forEach((cell, storeIndexes) ->
+                storeIndexesByCell.put(cell, storeIndexes.stream().mapToInt(Integer::intValue).toArray()));
+    }
+
+    /**
+     * Finds the stores within the given radius of a point, closest first, with distanceInMiles filled in.
+     *
+     * @param latitude    latitude of the search center
+     * @param longitude   longitude of the search center
+     * @param radiusMiles search radius in miles
+     * @param filter      additional criteria the stores have to match
+     * @return the matching stores within the radius sorted by distance, empty if none
+     */
+    public List<StoreInformation> findStoresWithinRadius(final double latitude,
+                                                         final double longitude,
+                                                         final double radiusMiles,
+                                                         final Predicate<SearchableStore> filter) {
+        final double latitudeSpan = radiusMiles / MILES_PER_DEGREE_LATITUDE;
+        final double longitudeSpan = Math.min(180.0, radiusMiles
+                / (MILES_PER_DEGREE_LATITUDE * Math.max(Math.cos(Math.toRadians(latitude)), MIN_COS_LATITUDE)));
+
+        // Our stores are all in the US, so a search circle never wraps around the antimeridian
+        final List<Match> matches = new ArrayList<>();
+        for (int latCell = toCell(latitude - latitudeSpan); latCell <= toCell(latitude + latitudeSpan); latCell++) {
+            for (int lonCell = toCell(longitude - longitudeSpan); lonCell <= toCell(longitude + longitudeSpan); lonCell++) {
+                final int[] storeIndexes = storeIndexesByCell.get(cellKey(latCell, lonCell));
+                if (storeIndexes == null) {
+                    continue;
+                }
+                for (final int storeIndex : storeIndexes) {
+                    final SearchableStore store = stores.get(storeIndex);
+                    final double distance = distanceInMiles(latitude, longitude, store.getLatitude(), store.getLongitude());
+                    if (distance <= radiusMiles && filter.test(store)) {
+                        matches.add(new Match(store, distance));
+                    }
+                }
+            }
+        }
+
+        return matches.stream()
+                .sorted(Comparator.comparingDouble(match -> match.distance))
+                .map(match -> match.store.getStoreWithDistance(match.distance))
+                .collect(ImmutableList.toImmutableList());
+    }
+
+    // Haversine great-circle distance
+    private static double distanceInMiles(final double fromLatitude,
+                                          final double fromLongitude,
+                                          final double toLatitude,
+                                          final double toLongitude) {
+        final double latitudeDelta = Math.toRadians(toLatitude - fromLatitude);
+        final double longitudeDelta = Math.toRadians(toLongitude - fromLongitude);
+        final double a = Math.pow(Math.sin(latitudeDelta / 2), 2)
+                + Math.cos(Math.toRadians(fromLatitude)) * Math.cos(Math.toRadians(toLatitude))
+                * Math.pow(Math.sin(longitudeDelta / 2), 2);
+        return 2 * EARTH_RADIUS_MILES * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+
+    private static int toCell(final double degrees) {
+        return (int) Math.floor(degrees / CELL_SIZE_DEGREES);
+    }
+
+    private static long cellKey(final int latCell, final int lonCell) {
+        return ((long) latCell << 32) | (lonCell & 0xFFFFFFFFL);
+    }
+
+    private static final class Match {
+
+        private final SearchableStore store;
+        private final double distance;
+
+        private Match(final SearchableStore store, final double distance) {
+            this.store = store;
+            this.distance = distance;
+        }
+    }
+}
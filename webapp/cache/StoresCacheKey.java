@@ -0,0 +1,74 @@
+package com.amazon.green.book.service.webapp.cache;
+
+import static com.amazon.green.book.service.webapp.constants.BrandConstants.AFS_BRAND_ID;
+import static com.amazon.green.book.service.webapp.constants.BrandConstants.WFM_BRAND_ID;
+import static com.amazon.green.book.service.webapp.constants.ServiceConstants.DEFAULT_MARKETPLACE_ID;
+
+import java.util.Objects;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+/**
+ * Key of a brand catalog in StoresForBrandCache: (almBrandId, marketPlaceId).
+ *
+ * <p>The hash is computed once, and the keys of the known brands in the default marketplace are pre-built, so that looking up
+ * their catalogs does not allocate.
+ */
+@Getter
+public final class StoresCacheKey {
+
+    private static final StoresCacheKey WFM_DEFAULT_MARKETPLACE = new StoresCacheKey(WFM_BRAND_ID, DEFAULT_MARKETPLACE_ID);
+    private static final StoresCacheKey AFS_DEFAULT_MARKETPLACE = new StoresCacheKey(AFS_BRAND_ID, DEFAULT_MARKETPLACE_ID);
+
+    private final String almBrandId;
+    private final String marketPlaceId;
+    @Getter(AccessLevel.NONE)
+    private final int hash;
+
+    private StoresCacheKey(final String almBrandId, final String marketPlaceId) {
+        this.almBrandId = Objects.requireNonNull(almBrandId, "almBrandId");
+        this.marketPlaceId = Objects.requireNonNull(marketPlaceId, "marketPlaceId");
+        this.hash = 31 * almBrandId.hashCode() + marketPlaceId.hashCode();
+    }
+
+    /**
+     * Gets the key of a brand catalog.
+     *
+     * @param almBrandId an entity that owns regional stores (ALM Stores) like WFM, AFS, Sprouts etc
+     * @param marketPlaceId obfuscated marketplace id
+     * @return the key, a pre-built instance for the known brands in the default marketplace
+     */
+    public static StoresCacheKey of(final String almBrandId, final String marketPlaceId) {
+        if (DEFAULT_MARKETPLACE_ID.equals(marketPlaceId)) {
+            if (WFM_BRAND_ID.equals(almBrandId)) {
+                return WFM_DEFAULT_MARKETPLACE;
+            } else if (AFS_BRAND_ID.equals(almBrandId)) {
+                return AFS_DEFAULT_MARKETPLACE;
+            }
+        }
+        return new StoresCacheKey(almBrandId, marketPlaceId);
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof StoresCacheKey)) {
+            return false;
+        }
+        final StoresCacheKey otherKey = (StoresCacheKey) other;
+        return hash == otherKey.hash && almBrandId.equals(otherKey.almBrandId) && marketPlaceId.equals(otherKey.marketPlaceId);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    // Also names the catalog in logs, metrics and snapshot files
+    @Override
+    public String toString() {
+        return almBrandId + "," + marketPlaceId;
+    }
+}
@@ -1,50 +1,159 @@
 package com.amazon.green.book.service.webapp.cache;
 
 import static com.amazon.green.book.service.webapp.constants.CacheConstants.CACHE_TTL_HOURS;
+import static com.amazon.green.book.service.webapp.constants.CacheConstants.STRING_DEDUP_TABLE_MAX_SIZE;
 import static com.amazon.green.book.service.webapp.utils.CacheKeyConverter.convertToCacheKey;
-import static com.google.common.cache.CacheLoader.asyncReloading;
 
 import com.amazon.green.book.service.model.StoreInformation;
 import com.amazon.green.book.service.webapp.api.AlmStoresServiceApi;
+import com.amazon.green.book.service.webapp.utils.MetricsEmitter;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
 import com.google.common.annotations.VisibleForTesting;
-import com.google.common.cache.CacheBuilder;
-import com.google.common.cache.LoadingCache;
+import java.time.Duration;
+import java.util.HashMap;
 import java.util.List;
-import java.util.concurrent.ExecutionException;
+import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
+import lombok.extern.log4j.Log4j2;
 
+@Log4j2
 public class StoresForBrandCache {
 
-    // Local loading cache that maps String <almBrandId,marketPlaceId> to List<StoreInformation>
-    private final LoadingCache<String, List<StoreInformation>> storesCache;
+    // Local loading cache that maps <almBrandId,marketPlaceId> to the StoreCatalog of the brand.
+    // Entries are weighed by their estimated heap size and evicted (W-TinyLFU) once the memory budget is exceeded.
+    // Refreshes run on the executor and the current catalog keeps being served until the new one is loaded.
+    private final LoadingCache<StoresCacheKey, StoreCatalog> storesCache;
+    private final CatalogSnapshotStore catalogSnapshotStore;
+    private final StoresForBrandCacheLoader storesCacheLoader;
 
     /**
      * Constructor for the StoresForBrandCache.
      *
      * @param almStoresServiceApi the AlmStoresServiceApi used to interact with AlmStoresService
      * @param executorService ExecutorService
+     * @param maximumWeightBytes memory budget of the cache, in estimated bytes of the cached catalogs
+     * @param catalogSnapshotStore local disk snapshots of the catalogs, written after every load
+     * @param metricsEmitter MetricsEmitter used to count the stores added, removed and changed by refreshes
      */
     public StoresForBrandCache(final AlmStoresServiceApi almStoresServiceApi,
-                               final ExecutorService executorService) {
+                               final ExecutorService executorService,
+                               final long maximumWeightBytes,
+                               final CatalogSnapshotStore catalogSnapshotStore,
+                               final MetricsEmitter metricsEmitter) {
 
-        storesCache = CacheBuilder
+        this.catalogSnapshotStore = catalogSnapshotStore;
+        // the dedup table is shared by the catalogs of every brand and outlives their refreshes
+        this.storesCacheLoader = new StoresForBrandCacheLoader(almStoresServiceApi, catalogSnapshotStore, metricsEmitter,
+                new StringDeduplicator(STRING_DEDUP_TABLE_MAX_SIZE));
+
+        storesCache = Caffeine
                 .newBuilder()
-                .refreshAfterWrite(CACHE_TTL_HOURS, TimeUnit.HOURS)
-                .build(asyncReloading(new StoresForBrandCacheLoader(almStoresServiceApi), executorService));
+                .maximumWeight(maximumWeightBytes)
+                .weigher(new StoreCatalogWeigher())
+                .refreshAfterWrite(Duration.ofHours(CACHE_TTL_HOURS))
+                .executor(executorService)
+                .recordStats()
+                .build(storesCacheLoader);
+    }
+
+    /**
+     * Gets a catalog without blocking on its load.
+     *
+     * <p>If the catalog is not loaded yet, its load is started in the background, concurrent loads of the same catalog are
+     * coalesced by the cache.
+     *
+     * @param almBrandId an entity that owns regional stores (ALM Stores), either AFS or WFM
+     * @param marketPlaceId obfuscated marketplace id
+     * @return the catalog, empty if it is not loaded yet
+     */
+    public Optional<StoreCatalog> getCatalogIfLoaded(final String almBrandId, final String marketPlaceId) {
+        final StoresCacheKey cacheKey = convertToCacheKey(almBrandId, marketPlaceId);
+        final StoreCatalog catalog = storesCache.getIfPresent(cacheKey);
+        if (catalog == null) {
+            loadAsync(cacheKey);
+        }
+        return Optional.ofNullable(catalog);
+    }
+
+    /**
+     * Loads a catalog in the background, from its local snapshot if there is a usable one.
+     *
+     * @param almBrandId an entity that owns regional stores (ALM Stores), either AFS or WFM
+     * @param marketPlaceId obfuscated marketplace id
+     */
+    public void preload(final String almBrandId, final String marketPlaceId) {
+        if (!loadFromSnapshot(almBrandId, marketPlaceId)) {
+            loadAsync(convertToCacheKey(almBrandId, marketPlaceId));
+        }
+    }
+
+    /**
+     * Loads a catalog from its local snapshot, if there is a usable one, and refreshes it from ALM in the background.
+     *
+     * @param almBrandId an entity that owns regional stores (ALM Stores), either AFS or WFM
+     * @param marketPlaceId obfuscated marketplace id
+     * @return true if the catalog was loaded from its snapshot
+     */
+    public boolean loadFromSnapshot(final String almBrandId, final String marketPlaceId) {
+        final StoresCacheKey cacheKey = convertToCacheKey(almBrandId, marketPlaceId);
+        final Optional<List<StoreInformation>> stores = catalogSnapshotStore.read(cacheKey);
+        if (!stores.isPresent()) {
+            return false;
+        }
+
+        storesCache.put(cacheKey, storesCacheLoader.buildCatalog(cacheKey, stores.get()));
+        loadAsync(cacheKey);
+        return true;
+    }
+
+    private void loadAsync(final StoresCacheKey cacheKey) {
+        try {
+            storesCache.refresh(cacheKey).whenComplete((catalog, throwable) -> {
+                if (throwable != null) {
+                    log.error("Failed to load stores catalog for {}", cacheKey, throwable);
+                }
+            });
+        } catch (RejectedExecutionException rejectedExecutionException) {
+            // the refresh executor is saturated, the catalog is loaded again by the next request or scheduled refresh
+            log.error("Failed to load stores catalog for {}", cacheKey, rejectedExecutionException);
+        }
+    }
+
+    /**
+     * Cumulative statistics of the cache since it was created.
+     *
+     * @return hit, miss, load, load time and eviction statistics
+     */
+    public CacheStats getStats() {
+        return storesCache.stats();
     }
 
-    public List<StoreInformation> getAllStoresForBrand(final String almBrandId, final String marketPlaceId) throws ExecutionException {
-        return storesCache.get(convertToCacheKey(almBrandId, marketPlaceId));
+    /**
+     * Age of each cached catalog, i.e. time since it was loaded or last refreshed.
+     *
+     * @return entry age in seconds by cache key string
+     */
+    public Map<String, Long> getEntryAgesInSeconds() {
+        final Map<String, Long> entryAges = new HashMap<>();
+        storesCache.policy().refreshAfterWrite().ifPresent(refreshPolicy ->
+                storesCache.asMap().keySet().forEach(cacheKey ->
+                        refreshPolicy.ageOf(cacheKey, TimeUnit.SECONDS).ifPresent(age -> entryAges.put(cacheKey.toString(), age))));
+        return entryAges;
     }
 
     @VisibleForTesting
     long getCacheSize() {
-        return storesCache.size();
+        return storesCache.estimatedSize();
     }
 
     @VisibleForTesting
     List<StoreInformation> getIfPresent(final String almBrandId, final String marketPlaceId) {
-        return storesCache.getIfPresent(convertToCacheKey(almBrandId, marketPlaceId));
+        final StoreCatalog catalog = storesCache.getIfPresent(convertToCacheKey(almBrandId, marketPlaceId));
+        return catalog == null ? null : catalog.getStores();
     }
 }
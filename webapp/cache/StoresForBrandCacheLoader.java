@@ -1,25 +1,179 @@
 package com.amazon.green.book.service.webapp.cache;
 
-import static com.amazon.green.book.service.webapp.utils.CacheKeyConverter.convertFromCacheKey;
+import static com.amazon.green.book.service.webapp.constants.MetricsConstants.CACHE_KEY_PROP;
+import static com.amazon.green.book.service.webapp.constants.MetricsConstants.STORES_CACHE_REFRESH_ADDED;
+import static com.amazon.green.book.service.webapp.constants.MetricsConstants.STORES_CACHE_REFRESH_CHANGED;
+import static com.amazon.green.book.service.webapp.constants.MetricsConstants.STORES_CACHE_REFRESH_HOURS_CHANGED;
+import static com.amazon.green.book.service.webapp.constants.MetricsConstants.STORES_CACHE_REFRESH_REMOVED;
+import static com.amazon.green.book.service.webapp.constants.MetricsConstants.STORES_CACHE_STRING_DEDUP_BYTES_SAVED;
+import static com.amazon.green.book.service.webapp.constants.MetricsConstants.STORES_CACHE_STRING_DEDUP_HITS;
+import static com.amazon.green.book.service.webapp.constants.MetricsConstants.STORES_CACHE_STRING_DEDUP_TABLE_SIZE;
+import static com.amazon.green.book.service.webapp.constants.MetricsConstants.STORES_FOR_BRAND_CACHE_OPERATION;
 
 import com.amazon.green.book.service.model.StoreInformation;
 import com.amazon.green.book.service.webapp.api.AlmStoresServiceApi;
-import com.google.common.cache.CacheLoader;
+import com.amazon.green.book.service.webapp.utils.MetricsEmitter;
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import java.io.IOException;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import javax.measure.unit.NonSI;
+import javax.measure.unit.Unit;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
 
 @RequiredArgsConstructor
 @Log4j2
-public class StoresForBrandCacheLoader extends CacheLoader<String, List<StoreInformation>> {
+public class StoresForBrandCacheLoader implements CacheLoader<StoresCacheKey, StoreCatalog> {
 
     private final AlmStoresServiceApi almStoresServiceApi;
+    private final CatalogSnapshotStore catalogSnapshotStore;
+    private final MetricsEmitter metricsEmitter;
+    private final StringDeduplicator stringDeduplicator;
 
     @Override
-    public List<StoreInformation> load(final String cacheKey) {
-        final String[] cacheKeys = convertFromCacheKey(cacheKey);
-        final String almBrandId = cacheKeys[0];
-        final String marketPlaceId = cacheKeys[1];
-        return almStoresServiceApi.findAllStoresForBrand(almBrandId, marketPlaceId);
+    public StoreCatalog load(final StoresCacheKey cacheKey) {
+        final StoreCatalog catalog = buildCatalog(cacheKey, findAllStoresForBrand(cacheKey));
+        writeSnapshot(cacheKey, catalog);
+        return catalog;
+    }
+
+    /**
+     * Builds the catalog of the given stores, e.g. read from a snapshot, the same way loads do.
+     *
+     * @param cacheKey the key of the catalog
+     * @param stores   all stores of the brand in the marketplace
+     * @return the catalog
+     */
+    public StoreCatalog buildCatalog(final StoresCacheKey cacheKey, final List<StoreInformation> stores) {
+        // search fields are normalized here once per refresh so that searches don't have to
+        return StoreCatalog.of(deduplicateStrings(cacheKey, stores));
+    }
+
+    /**
+     * Refreshes a catalog, reusing the stores of the current catalog that did not change.
+     *
+     * <p>Stores are matched by storeId. An unchanged store keeps its current SearchableStore, with its packed hours and
+     * normalized search fields, so that only added and changed stores outlive the refresh, and the current catalog is kept as
+     * is when nothing changed. A store whose hours alone changed, as most do from one day to the next, keeps its current
+     * fields and normalized search fields with only its hours replaced.
+     * The stores of the current generation, typically promoted to the old generation by then, then stay reachable instead of
+     * all becoming garbage at once.
+     */
+    @Override
+    public StoreCatalog reload(final StoresCacheKey cacheKey, final StoreCatalog currentCatalog) {
+        final List<StoreInformation> stores = deduplicateStrings(cacheKey, findAllStoresForBrand(cacheKey));
+
+        final List<SearchableStore> currentStores = currentCatalog.getSearchableStores();
+        final Map<String, SearchableStore> currentStoresById = new HashMap<>();
+        currentStores.forEach(store -> currentStoresById.put(store.getStoreId(), store));
+
+        final ImmutableList.Builder<SearchableStore> searchableStores = ImmutableList.builderWithExpectedSize(stores.size());
+        int added = 0;
+        int changed = 0;
+        int hoursChanged = 0;
+        boolean sameAsCurrentCatalog = stores.size() == currentStores.size();
+        for (int i = 0; i < stores.size(); i++) {
+            final StoreInformation store = stores.get(i);
+            final SearchableStore currentStore = currentStoresById.remove(store.getStoreId());
+            if (currentStore == null) {
+                added++;
+                searchableStores.add(new SearchableStore(store));
+                sameAsCurrentCatalog = false;
+            } else if (!currentStore.hasSameDetailsAs(store)) {
+                changed++;
+                searchableStores.add(new SearchableStore(store));
+                sameAsCurrentCatalog = false;
+            } else {
+                // packed once, for both the comparison and the copy
+                final PackedStoreHours packedHours = PackedStoreHours.pack(store.getOperationalDailyHours());
+                if (currentStore.hasSameHoursAs(store, packedHours)) {
+                    searchableStores.add(currentStore);
+                    sameAsCurrentCatalog &= i < currentStores.size() && currentStores.get(i) == currentStore;
+                } else {
+                    hoursChanged++;
+                    searchableStores.add(currentStore.withHoursOf(store, packedHours));
+                    sameAsCurrentCatalog = false;
+                }
+            }
+        }
+        final int removed = currentStoresById.size();
+        emitRefreshCounts(cacheKey, added, removed, changed, hoursChanged);
+        log.info("Refreshed stores catalog for {}: {} added, {} removed, {} changed, {} with only new hours", cacheKey, added,
+                removed, changed, hoursChanged);
+
+        // same stores in the same order, the current catalog and its indexes are still valid
+        final StoreCatalog catalog = sameAsCurrentCatalog ? currentCatalog : new StoreCatalog(searchableStores.build());
+        // rewritten even when nothing changed, so that the snapshot does not get too old to be used
+        writeSnapshot(cacheKey, catalog);
+        return catalog;
+    }
+
+    private List<StoreInformation> findAllStoresForBrand(final StoresCacheKey cacheKey) {
+        return almStoresServiceApi.findAllStoresForBrand(cacheKey.getAlmBrandId(), cacheKey.getMarketPlaceId());
+    }
+
+    // copies of the stores whose repeated strings are the canonical instances of the dedup table
+    private List<StoreInformation> deduplicateStrings(final StoresCacheKey cacheKey, final List<StoreInformation> stores) {
+        final Deduplication deduplication = new Deduplication();
+        final ImmutableList.Builder<StoreInformation> deduplicatedStores = ImmutableList.builderWithExpectedSize(stores.size());
+        for (final StoreInformation store : stores) {
+            deduplicatedStores.add(SearchableStore.copyOf(store, store.getOperationalDailyHours(),
+                    store.getDistanceInMiles(), deduplication::deduplicate));
+        }
+        emitDeduplicationCounts(cacheKey, deduplication);
+        return deduplicatedStores.build();
+    }
+
+    private void writeSnapshot(final StoresCacheKey cacheKey, final StoreCatalog catalog) {
+        // the snapshot only speeds up the next startup, failing to write it must not fail the load
+        try {
+            catalogSnapshotStore.write(cacheKey, catalog.getStores());
+        } catch (IOException ioException) {
+            log.warn("Failed to write catalog snapshot for {}", cacheKey, ioException);
+        }
+    }
+
+    private void emitRefreshCounts(final StoresCacheKey cacheKey,
+                                   final int added,
+                                   final int removed,
+                                   final int changed,
+                                   final int hoursChanged) {
+        // refreshes run in the background, outside of any request
+        final Map<String, String> properties = ImmutableMap.of(CACHE_KEY_PROP, cacheKey.toString());
+        metricsEmitter.emitStandalone(STORES_FOR_BRAND_CACHE_OPERATION, properties, metrics -> {
+            metrics.addCount(STORES_CACHE_REFRESH_ADDED, added, Unit.ONE);
+            metrics.addCount(STORES_CACHE_REFRESH_REMOVED, removed, Unit.ONE);
+            metrics.addCount(STORES_CACHE_REFRESH_CHANGED, changed, Unit.ONE);
+            metrics.addCount(STORES_CACHE_REFRESH_HOURS_CHANGED, hoursChanged, Unit.ONE);
+        });
+    }
+
+    private void emitDeduplicationCounts(final StoresCacheKey cacheKey, final Deduplication deduplication) {
+        final Map<String, String> properties = ImmutableMap.of(CACHE_KEY_PROP, cacheKey.toString());
+        metricsEmitter.emitStandalone(STORES_FOR_BRAND_CACHE_OPERATION, properties, metrics -> {
+            metrics.addCount(STORES_CACHE_STRING_DEDUP_HITS, deduplication.hits, Unit.ONE);
+            metrics.addLevel(STORES_CACHE_STRING_DEDUP_BYTES_SAVED, deduplication.bytesSaved, NonSI.BYTE);
+            metrics.addLevel(STORES_CACHE_STRING_DEDUP_TABLE_SIZE, stringDeduplicator.size(), Unit.ONE);
+        });
+    }
+
+    // Strings of a single load replaced by an equal canonical instance, whose copies are then not retained by the catalog
+    private final class Deduplication {
+
+        private int hits;
+        private long bytesSaved;
+
+        private String deduplicate(final String value) {
+            final String canonicalValue = stringDeduplicator.deduplicate(value);
+            if (canonicalValue != value) {
+                hits++;
+                bytesSaved += StoreCatalogWeigher.stringBytes(value);
+            }
+            return canonicalValue;
+        }
     }
 }
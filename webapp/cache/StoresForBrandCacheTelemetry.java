@@ -0,0 +1,81 @@
+package com.amazon.green.book.service.webapp.cache;
+
+import static com.amazon.green.book.service.webapp.constants.MetricsConstants.CACHE_KEY_PROP;
+import static com.amazon.green.book.service.webapp.constants.MetricsConstants.STORES_CACHE_ENTRY_AGE;
+import static com.amazon.green.book.service.webapp.constants.MetricsConstants.STORES_CACHE_EVICTION;
+import static com.amazon.green.book.service.webapp.constants.MetricsConstants.STORES_CACHE_HIT;
+import static com.amazon.green.book.service.webapp.constants.MetricsConstants.STORES_CACHE_LOAD_FAILURE;
+import static com.amazon.green.book.service.webapp.constants.MetricsConstants.STORES_CACHE_LOAD_SUCCESS;
+import static com.amazon.green.book.service.webapp.constants.MetricsConstants.STORES_CACHE_LOAD_TIME;
+import static com.amazon.green.book.service.webapp.constants.MetricsConstants.STORES_CACHE_MISS;
+import static com.amazon.green.book.service.webapp.constants.MetricsConstants.STORES_FOR_BRAND_CACHE_OPERATION;
+
+import com.amazon.green.book.service.webapp.utils.MetricsEmitter;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.google.common.collect.ImmutableMap;
+import java.util.concurrent.TimeUnit;
+import javax.measure.unit.SI;
+import javax.measure.unit.Unit;
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * Periodically exports the StoresForBrandCache statistics.
+ *
+ * <p>Each run emits what happened since the previous run: hits, misses, load successes and failures (refreshes included),
+ * the average load time and evictions. It also emits the age of every cached catalog with a CacheKey property, which tells
+ * how stale the served stores are compared to the refresh interval.
+ */
+@Log4j2
+public class StoresForBrandCacheTelemetry implements Runnable {
+
+    private final StoresForBrandCache storesForBrandCache;
+    private final MetricsEmitter metricsEmitter;
+    // Only accessed by the single scheduler thread
+    private CacheStats previousStats = CacheStats.empty();
+
+    /**
+     * Constructor for the StoresForBrandCacheTelemetry.
+     *
+     * @param storesForBrandCache the cache to export the statistics of
+     * @param metricsEmitter      MetricsEmitter used to emit the statistics
+     */
+    public StoresForBrandCacheTelemetry(final StoresForBrandCache storesForBrandCache, final MetricsEmitter metricsEmitter) {
+        this.storesForBrandCache = storesForBrandCache;
+        this.metricsEmitter = metricsEmitter;
+    }
+
+    @Override
+    public void run() {
+        // a scheduled task that throws is never run again
+        try {
+            exportStats();
+            exportEntryAges();
+        } catch (RuntimeException exception) {
+            log.error("Failed to export StoresForBrandCache statistics.", exception);
+        }
+    }
+
+    private void exportStats() {
+        final CacheStats currentStats = storesForBrandCache.getStats();
+        final CacheStats stats = currentStats.minus(previousStats);
+        previousStats = currentStats;
+
+        metricsEmitter.emitStandalone(STORES_FOR_BRAND_CACHE_OPERATION, ImmutableMap.of(), metrics -> {
+            metrics.addCount(STORES_CACHE_HIT, stats.hitCount(), Unit.ONE);
+            metrics.addCount(STORES_CACHE_MISS, stats.missCount(), Unit.ONE);
+            metrics.addCount(STORES_CACHE_LOAD_SUCCESS, stats.loadSuccessCount(), Unit.ONE);
+            metrics.addCount(STORES_CACHE_LOAD_FAILURE, stats.loadFailureCount(), Unit.ONE);
+            metrics.addCount(STORES_CACHE_EVICTION, stats.evictionCount(), Unit.ONE);
+            if (stats.loadCount() > 0) {
+                metrics.addTime(STORES_CACHE_LOAD_TIME, TimeUnit.NANOSECONDS.toMillis((long) stats.averageLoadPenalty()),
+                        SI.MILLI(SI.SECOND));
+            }
+        });
+    }
+
+    private void exportEntryAges() {
+        storesForBrandCache.getEntryAgesInSeconds().forEach((cacheKey, ageInSeconds) ->
+                metricsEmitter.emitStandalone(STORES_FOR_BRAND_CACHE_OPERATION, ImmutableMap.of(CACHE_KEY_PROP, cacheKey),
+                        metrics -> metrics.addLevel(STORES_CACHE_ENTRY_AGE, ageInSeconds, SI.SECOND)));
+    }
+}
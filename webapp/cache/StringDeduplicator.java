@@ -0,0 +1,53 @@
+package com.amazon.green.book.service.webapp.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Bounded table of canonical strings, shared by every catalog load of the StoresForBrandCache.
+ *
+ * <p>Stores repeat the same cities, states, timezones and address lines, within a catalog and across the AFS and WFM ones,
+ * and every refresh parses new copies of them from ALM. Deduplicating them through this table makes the cached stores share
+ * one instance per value. The table outlives the refreshes, so a refresh also reuses the instances of the current catalogs.
+ *
+ * <p>The table is bounded by its number of entries and evicts the least used values first, values seen once (e.g. a unique
+ * address line) do not keep their place long. Deduplication is best effort, an evicted value is just added again.
+ */
+public class StringDeduplicator {
+
+    private final Cache<String, String> canonicalStrings;
+
+    /**
+     * Constructor for the StringDeduplicator.
+     *
+     * @param maximumSize maximum number of distinct strings kept in the table
+     */
+    public StringDeduplicator(final long maximumSize) {
+        this.canonicalStrings = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .build();
+    }
+
+    /**
+     * Gets the canonical instance of a string, adding it to the table if there is none.
+     *
+     * @param value the string to deduplicate
+     * @return the canonical instance equal to the value, the value itself if it was not in the table, null if it is null
+     */
+    public String deduplicate(final String value) {
+        if (value == null) {
+            return null;
+        }
+        final String canonicalValue = canonicalStrings.asMap().putIfAbsent(value, value);
+        return canonicalValue == null ? value : canonicalValue;
+    }
+
+    /**
+     * Gets the approximate number of strings in the table.
+     *
+     * @return number of distinct strings in the table
+     */
+    public long size() {
+        return canonicalStrings.estimatedSize();
+    }
+}
@@ -0,0 +1,120 @@
+package com.amazon.green.book.service.webapp.cache;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.google.common.collect.ImmutableMap;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import lombok.Value;
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * US 5 digits postal code centroids, used to answer postal code searches from the in-memory catalog.
+ *
+ * <p>The centroids are read once, from a file configured through AppConfig or else from a classpath resource, see
+ * StoresForBrandCacheConfig. Both hold one {@code postalCode,latitude,longitude} entry per line. A missing source or a
+ * postal code not in it is not an error, callers fall back to ALM.
+ */
+@Log4j2
+public class ZipCodeCentroids {
+
+    private static final String FIELD_SEPARATOR = ",";
+
+    private final Map<String, Centroid> centroidsByPostalCode;
+
+    private ZipCodeCentroids(final Map<String, Centroid> centroidsByPostalCode) {
+        this.centroidsByPostalCode = ImmutableMap.copyOf(centroidsByPostalCode);
+    }
+
+    /**
+     * Reads the centroids of a file.
+     *
+     * @param file the centroids file
+     * @return the centroids, empty if the file is missing or can not be read
+     */
+    public static ZipCodeCentroids fromFile(final Path file) {
+        try (Reader reader = Files.newBufferedReader(file, UTF_8)) {
+            return new ZipCodeCentroids(readCentroids(reader, file));
+        } catch (NoSuchFileException noSuchFileException) {
+            log.warn("{} not found, postal code searches will be served by ALM.", file);
+        } catch (IOException ioException) {
+            log.error("Failed to read {}, postal code searches will be served by ALM.", file, ioException);
+        }
+        return new ZipCodeCentroids(ImmutableMap.of());
+    }
+
+    /**
+     * Reads the centroids of a classpath resource.
+     *
+     * @param resource name of the centroids resource
+     * @return the centroids, empty if the resource is missing or can not be read
+     */
+    public static ZipCodeCentroids fromClasspath(final String resource) {
+        final InputStream centroidsStream = ZipCodeCentroids.class.getResourceAsStream(resource);
+        if (centroidsStream == null) {
+            log.warn("{} not found on classpath, postal code searches will be served by ALM.", resource);
+            return new ZipCodeCentroids(ImmutableMap.of());
+        }
+
+        try (Reader reader = new InputStreamReader(centroidsStream, UTF_8)) {
+            return new ZipCodeCentroids(readCentroids(reader, resource));
+        } catch (IOException ioException) {
+            log.error("Failed to read {}, postal code searches will be served by ALM.", resource, ioException);
+            return new ZipCodeCentroids(ImmutableMap.of());
+        }
+    }
+
+    /**
+     * Gets the centroid of a postal code.
+     *
+     * @param postalCode 5 digits US postal code
+     * @return the centroid, empty if the postal code is unknown
+     */
+    public Optional<Centroid> getCentroid(final String postalCode) {
+        return Optional.ofNullable(centroidsByPostalCode.get(postalCode));
+    }
+
+    public int size() {
+        return centroidsByPostalCode.size();
+    }
+
+    private static Map<String, Centroid> readCentroids(final Reader centroidsReader, final Object source) throws IOException {
+        final Map<String, Centroid> centroids = new HashMap<>();
+        final BufferedReader reader = new BufferedReader(centroidsReader);
+        String line;
+        while ((line = reader.readLine()) != null) {
+            final String[] fields = line.split(FIELD_SEPARATOR);
+            if (fields.length != 3) {
+                continue;
+            }
+            try {
+                centroids.put(fields[0].trim(),
+                        new Centroid(Double.parseDouble(fields[1].trim()), Double.parseDouble(fields[2].trim())));
+            } catch (NumberFormatException ex) {
+                // header or malformed line, skip it
+                log.debug("Skipping malformed postal code centroid line: {}", line);
+            }
+        }
+
+        log.info("Loaded {} postal code centroids from {}.", centroids.size(), source);
+        return centroids;
+    }
+
+    /**
+     * Geographic center of a postal code.
+     */
+    @Value
+    public static class Centroid {
+        double latitude;
+        double longitude;
+    }
+}
@@ -1,5 +1,12 @@
 package com.amazon.green.book.service.webapp.config;
 
+import static com.amazon.green.book.service.webapp.constants.MetricsConstants.DISCOVER_IN_STORE_STORES_OPERATION;
+import static com.amazon.green.book.service.webapp.constants.MetricsConstants.DISCOVER_PICKUP_STORES_OPERATION;
+import static com.amazon.green.book.service.webapp.constants.MetricsConstants.FIND_STORES_FOR_BRAND_OPERATION;
+import static com.amazon.green.book.service.webapp.constants.ServiceConstants.ALM_PAYLOAD_LOG_MAX_CHARS;
+import static com.amazon.green.book.service.webapp.constants.ServiceConstants.ALM_PAYLOAD_LOG_QUEUE_CAPACITY;
+import static com.amazon.green.book.service.webapp.constants.ServiceConstants.ALM_PAYLOAD_SAMPLE_RATE_CONFIG_KEY_PREFIX;
+import static com.amazon.green.book.service.webapp.constants.ServiceConstants.DEFAULT_ALM_PAYLOAD_SAMPLE_RATE;
 import static com.amazon.green.book.service.webapp.constants.ServiceConstants.PROD_DOMAIN;
 import static com.amazon.green.book.service.webapp.constants.ServiceConstants.TEST_DOMAIN;
 import static com.amazon.green.book.service.webapp.constants.ServiceConstants.US_REALM;
@@ -14,11 +21,18 @@ import com.amazon.coral.client.ClientBuilder;
 import com.amazon.coral.client.cloudauth.CloudAuthDefaultCredentialsVisitor;
 import com.amazon.coral.retry.RetryStrategy;
 import com.amazon.coral.retry.strategy.ExponentialBackoffAndJitterBuilder;
+import com.amazon.green.book.service.webapp.api.AlmPayloadLogger;
 import com.amazonaws.auth.DefaultAWSCredentialsProviderChain;
 import com.amazonaws.regions.DefaultAwsRegionProviderChain;
+import com.google.common.base.Strings;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.primitives.Doubles;
+import java.util.List;
+import lombok.extern.log4j.Log4j2;
 import org.springframework.context.annotation.Bean;
 
+@Log4j2
 public class AlmStoresServiceClientConfig {
 
     // Realm and domain values are based on setup in configuration/apollo-shim.d/ShimCustomReplaceValues
@@ -31,6 +45,8 @@ public class AlmStoresServiceClientConfig {
     private static final int RETRY_MAX_ATTEMPTS = 3;
     private static final int RETRY_MAX_ELAPSED_MS = 4000;
     private static final double RETRY_RANDOMIZATION_FACTOR = 0.1;
+    private static final List<String> ALM_OPERATIONS = ImmutableList.of(
+            DISCOVER_IN_STORE_STORES_OPERATION, DISCOVER_PICKUP_STORES_OPERATION, FIND_STORES_FOR_BRAND_OPERATION);
 
     /**
      * Creates an ALMStoreService client based on service domain and realm.
@@ -46,6 +62,34 @@ public class AlmStoresServiceClientConfig {
                 .newClient();
     }
 
+    /**
+     * Creates the logger of ALM calls, with the payload sample rates of each ALM operation read from AppConfig. Its logging
+     * thread is stopped with the application context.
+     *
+     * @return ALM payload logger
+     */
+    @Bean(destroyMethod = "shutdown")
+    public AlmPayloadLogger getAlmPayloadLogger() {
+        final ImmutableMap.Builder<String, Double> payloadSampleRates = ImmutableMap.builder();
+        ALM_OPERATIONS.forEach(operation -> payloadSampleRates.put(operation, getPayloadSampleRate(operation)));
+        return new AlmPayloadLogger(payloadSampleRates.build(), ALM_PAYLOAD_LOG_MAX_CHARS, ALM_PAYLOAD_LOG_QUEUE_CAPACITY);
+    }
+
+    private static double getPayloadSampleRate(final String operation) {
+        final String configKey = ALM_PAYLOAD_SAMPLE_RATE_CONFIG_KEY_PREFIX + operation;
+        final String configuredRate = AppConfig.findString(configKey);
+        if (Strings.isNullOrEmpty(configuredRate)) {
+            return DEFAULT_ALM_PAYLOAD_SAMPLE_RATE;
+        }
+
+        final Double rate = Doubles.tryParse(configuredRate.trim());
+        if (rate == null || rate < 0 || rate > 1) {
+            log.warn("Invalid {}: {}, using the default of {}.", configKey, configuredRate, DEFAULT_ALM_PAYLOAD_SAMPLE_RATE);
+            return DEFAULT_ALM_PAYLOAD_SAMPLE_RATE;
+        }
+        return rate;
+    }
+
     /**
      * Returns the AWS Credentials needed for CloudAuth.
      *
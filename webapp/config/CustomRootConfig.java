@@ -18,7 +18,7 @@ import org.springframework.context.annotation.Import;
 @EnableLoadTimeWeaving(aspectjWeaving = EnableLoadTimeWeaving.AspectJWeaving.ENABLED)
 @Import({CSMBeanConfiguration.class, HorizonteSmokeTestBeanConfiguration.class, MetricsProviderConfig.class,
     ReactToolkitSpringConfiguration.class, AlmStoresServiceClientConfig.class, GsonConfig.class,
-    EnvironmentConfig.class, StoresForBrandCacheConfig.class, CorsConfig.class})
+    EnvironmentConfig.class, StoresForBrandCacheConfig.class, CorsConfig.class, PreSerializedStoresConfig.class})
 @Log4j2
 public class CustomRootConfig {
 
@@ -0,0 +1,57 @@
+package com.amazon.green.book.service.webapp.config;
+
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * Kind of threads backing the ExecutorService that runs the blocking ALM calls of the requests.
+ */
+@Log4j2
+public enum ExecutionMode {
+
+    /**
+     * Pooled platform threads, the default.
+     */
+    PLATFORM_THREADS,
+
+    /**
+     * One virtual thread per task, requires a Java 21+ runtime. Blocking on Coral I/O then only parks the virtual thread,
+     * so the number of concurrent ALM calls is no longer bounded by a thread pool.
+     */
+    VIRTUAL_THREADS;
+
+    /**
+     * Parses an execution mode from configuration.
+     *
+     * @param value configured value, case insensitive
+     * @return the execution mode, empty if the value is null or unknown
+     */
+    public static Optional<ExecutionMode> fromConfig(final String value) {
+        return Arrays.stream(values()).filter(mode -> mode.name().equalsIgnoreCase(value)).findFirst();
+    }
+
+    /**
+     * Creates an ExecutorService backed by the threads of this mode.
+     *
+     * <p>Virtual threads fall back to platform threads on runtimes older than Java 21.
+     *
+     * @return a new ExecutorService, shut down by its owner
+     */
+    public ExecutorService newExecutor() {
+        if (this == VIRTUAL_THREADS) {
+            // Looked up reflectively so that the service still builds and runs on runtimes older than Java 21
+            try {
+                final ExecutorService executorService =
+                        (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+                log.info("Running ALM calls on virtual threads.");
+                return executorService;
+            } catch (ReflectiveOperationException ex) {
+                log.warn("Virtual threads are not supported by this runtime, falling back to platform threads.", ex);
+            }
+        }
+        return Executors.newCachedThreadPool();
+    }
+}
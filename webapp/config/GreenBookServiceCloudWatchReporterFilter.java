@@ -26,7 +26,9 @@ public final class GreenBookServiceCloudWatchReporterFilter {
             "Program",
             "Operation",
             "MarketplaceId",
-            "REQUEST_METHOD")));
+            "REQUEST_METHOD",
+            // StoresForBrandCache entry age, one value per (almBrandId,marketPlaceId)
+            "CacheKey")));
 
     /**
      * Allowlist of metric names. Add EXPLICITLY all metrics that your business logic depends on. See {@link HexMetrcsFilterConstants}
@@ -48,7 +50,27 @@ public final class GreenBookServiceCloudWatchReporterFilter {
             "HeapMemoryAfterGCUse",
             "NonHeapMemoryUse",
             "GarbageCollection",
-            "ErrorPercentage")));
+            "ErrorPercentage",
+            // StoresForBrandCache telemetry
+            "StoresForBrandCache.Hit",
+            "StoresForBrandCache.Miss",
+            "StoresForBrandCache.LoadSuccess",
+            "StoresForBrandCache.LoadFailure",
+            "StoresForBrandCache.LoadTime",
+            "StoresForBrandCache.Eviction",
+            "StoresForBrandCache.EntryAge",
+            "StoresForBrandCache.RefreshAdded",
+            "StoresForBrandCache.RefreshRemoved",
+            "StoresForBrandCache.RefreshChanged",
+            "StoresForBrandCache.RefreshHoursChanged",
+            "StoresForBrandCache.StringDedupHits",
+            "StoresForBrandCache.StringDedupBytesSaved",
+            "StoresForBrandCache.StringDedupTableSize",
+            // PrecompressedResponseCache telemetry
+            "PrecompressedResponseCache.Hit",
+            "PrecompressedResponseCache.Miss",
+            "PrecompressedResponseCache.Eviction",
+            "PrecompressedResponseCache.Size")));
 
     private GreenBookServiceCloudWatchReporterFilter() {
     }
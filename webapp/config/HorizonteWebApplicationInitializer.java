@@ -23,13 +23,15 @@ public class HorizonteWebApplicationInitializer implements WebApplicationInitial
     private static final String PROGRAM = "GreenBookService";
     private static final String PROFILER_NAME = "GreenBookServiceProfiler";
     private static final String MARKETPLACE = "UNKNOWN";
+    // Replaces CustomRootConfig by a configuration importing it, e.g. the one of the load tests
+    private static final String ROOT_CONFIG_CLASS_PROPERTY = "greenbook.rootConfigClass";
 
     @Override
     public void onStartup(ServletContext servletContext) throws ServletException {
         PlatformWebApplicationInitializer initializer = PlatformWebApplicationInitializerBuilder.getBuilder()
                 .delegate(HorizonteAmazonWebInitializerDelegate.INSTANCE)
                 .delegate(CloudWatchMetricsDelegate.INSTANCE)
-                .additionalRootConfigClass(CustomRootConfig.class)
+                .additionalRootConfigClass(getRootConfigClass())
                 .useDefaultUncaughtExceptionHandler(true)
                 .build();
 
@@ -47,4 +49,16 @@ public class HorizonteWebApplicationInitializer implements WebApplicationInitial
                 MARKETPLACE,
                 MetricsHelper.getPlatformDefaultSensors());
     }
+
+    private static Class<?> getRootConfigClass() throws ServletException {
+        final String rootConfigClassName = System.getProperty(ROOT_CONFIG_CLASS_PROPERTY);
+        if (rootConfigClassName == null) {
+            return CustomRootConfig.class;
+        }
+        try {
+            return Class.forName(rootConfigClassName);
+        } catch (ClassNotFoundException classNotFoundException) {
+            throw new ServletException("Root config class " + rootConfigClassName + " not found", classNotFoundException);
+        }
+    }
 }
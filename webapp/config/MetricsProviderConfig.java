@@ -1,19 +1,34 @@
 package com.amazon.green.book.service.webapp.config;
 
+import static com.amazon.green.book.service.webapp.constants.MetricsConstants.ASYNC_EXECUTOR;
+import static com.amazon.green.book.service.webapp.constants.MetricsConstants.CATALOG_REFRESH_EXECUTOR;
+import static com.amazon.green.book.service.webapp.constants.ServiceConstants.CATALOG_REFRESH_EXECUTOR_KEEP_ALIVE_SECONDS;
+import static com.amazon.green.book.service.webapp.constants.ServiceConstants.CATALOG_REFRESH_EXECUTOR_QUEUE_CAPACITY;
+import static com.amazon.green.book.service.webapp.constants.ServiceConstants.CATALOG_REFRESH_EXECUTOR_THREADS;
+import static com.amazon.green.book.service.webapp.constants.ServiceConstants.CATALOG_REFRESH_EXECUTOR_THREAD_NAME_FORMAT;
+import static com.amazon.green.book.service.webapp.constants.ServiceConstants.EXECUTION_MODE_CONFIG_KEY;
+
+import amazon.platform.config.AppConfig;
 import com.amazon.coral.metrics.Metrics;
 import com.amazon.coral.metrics.MetricsFactory;
 import com.amazon.environment.platform.api.metrics.CoralMetrics;
+import com.amazon.green.book.service.webapp.utils.InstrumentedExecutorService;
+import com.amazon.green.book.service.webapp.utils.MetricsEmitter;
 import com.amazon.metrics.declarative.DefaultMetricsManager;
 import com.amazon.metrics.declarative.MetricsFactoriesHelper;
 import com.amazon.metrics.declarative.MetricsManager;
 import com.amazon.metrics.declarative.aspectj.MetricMethodAspect;
 import com.amazon.metrics.declarative.servicemetrics.aspectj.ServiceMetricsMethodAspect;
 import com.amazon.metrics.executor.MetricsAwareExecutor;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import org.aspectj.lang.Aspects;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 
 /**
  * Configuration for Declarative Metrics support beans.
@@ -76,17 +91,50 @@ public class MetricsProviderConfig {
     }
 
     /**
-     * ExecutorService bean used by async cache reload.
+     * ExecutorService bean used by async ALM calls of the requests.
+     *
+     * <p>Backed by platform or virtual threads depending on {@link ExecutionMode} configured under
+     * {@code EXECUTION_MODE_CONFIG_KEY}. Platform threads are an unbounded cached pool, requests are bounded by the servlet
+     * container and their DeferredResult timeout rather than rejected here.
      *
      * @param metricsManager **is MetricsManager**
+     * @param metricsEmitter MetricsEmitter used to emit active tasks, queue depth, wait time and rejections
      * @return ExecutorService
      */
     @Bean
-    public ExecutorService getMetricsAwareExecutor(MetricsManager metricsManager) {
+    @Primary
+    public ExecutorService getMetricsAwareExecutor(MetricsManager metricsManager, MetricsEmitter metricsEmitter) {
         // This is needed per https://w.amazon.com/index.php/Coral/Community/DeclarativeCoralMetrics#Multi-threading
-        // Our stores for branch cache has async cache reload/refresh implementation which calls findAllStoresForBrand method
-        // that has declarative coral metrics annotations.
-        // Doing this can avoid error https://paste.amazon.com/show/suanran/1635625190 during cache reload/refresh
-        return new MetricsAwareExecutor(Executors.newCachedThreadPool(), metricsManager);
+        // The ALM calls run on this executor have declarative coral metrics annotations.
+        // Doing this can avoid error https://paste.amazon.com/show/suanran/1635625190
+        // MetricsAwareExecutor wraps each task, so the metrics context is propagated the same way on virtual threads.
+        final ExecutionMode executionMode = ExecutionMode.fromConfig(AppConfig.findString(EXECUTION_MODE_CONFIG_KEY))
+                .orElse(ExecutionMode.PLATFORM_THREADS);
+        return new InstrumentedExecutorService(new MetricsAwareExecutor(executionMode.newExecutor(), metricsManager),
+                metricsEmitter, ASYNC_EXECUTOR);
+    }
+
+    /**
+     * ExecutorService bean used by the StoresForBrandCache loads, refreshes and prewarm, apart from the request executor.
+     *
+     * <p>A bounded pool of platform threads whatever the {@link ExecutionMode}: a refresh storm while ALM degrades queues up
+     * to its capacity and is then rejected, without taking threads from requests. A rejected refresh keeps serving the current
+     * catalog.
+     *
+     * @param metricsManager **is MetricsManager**
+     * @param metricsEmitter MetricsEmitter used to emit active tasks, queue depth, wait time and rejections
+     * @return ExecutorService
+     */
+    @Bean(name = "catalogRefreshExecutor", destroyMethod = "shutdown")
+    public ExecutorService getCatalogRefreshExecutor(MetricsManager metricsManager, MetricsEmitter metricsEmitter) {
+        // findAllStoresForBrand has declarative coral metrics annotations too, see getMetricsAwareExecutor
+        final ThreadPoolExecutor threadPoolExecutor = new ThreadPoolExecutor(CATALOG_REFRESH_EXECUTOR_THREADS,
+                CATALOG_REFRESH_EXECUTOR_THREADS, CATALOG_REFRESH_EXECUTOR_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(CATALOG_REFRESH_EXECUTOR_QUEUE_CAPACITY),
+                new ThreadFactoryBuilder().setNameFormat(CATALOG_REFRESH_EXECUTOR_THREAD_NAME_FORMAT).setDaemon(true).build(),
+                new ThreadPoolExecutor.AbortPolicy());
+        threadPoolExecutor.allowCoreThreadTimeOut(true);
+        return new InstrumentedExecutorService(new MetricsAwareExecutor(threadPoolExecutor, metricsManager), metricsEmitter,
+                CATALOG_REFRESH_EXECUTOR);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,46 @@
+package com.amazon.green.book.service.webapp.config;
+
+import com.amazon.green.book.service.model.StoreInformation;
+import com.amazon.green.book.service.webapp.cache.PrecompressedResponseCache;
+import com.amazon.green.book.service.webapp.converter.CompressibleResponseHttpMessageConverter;
+import com.amazon.green.book.service.webapp.converter.PreSerializedStoresHttpMessageConverter;
+import com.amazon.green.book.service.webapp.converter.StoreFragmentSerializer;
+import java.util.List;
+import java.util.Optional;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Log4j2
+@RequiredArgsConstructor
+public class PreSerializedStoresConfig implements WebMvcConfigurer {
+
+    private final PrecompressedResponseCache precompressedResponseCache;
+    private final StoreFragmentSerializer storeFragmentSerializer;
+
+    /**
+     * Registers the PreSerializedStoreList and CompressibleResponse converters ahead of the others, on top of the JSON converter
+     * already used for stores. The JSON converter also produces the store fragments, see StoreFragmentSerializer.
+     *
+     * @param converters the configured message converters
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public void extendMessageConverters(final List<HttpMessageConverter<?>> converters) {
+        final Optional<HttpMessageConverter<?>> jsonConverter = converters.stream()
+                .filter(converter -> converter.canWrite(StoreInformation.class, MediaType.APPLICATION_JSON))
+                .findFirst();
+        if (!jsonConverter.isPresent()) {
+            log.error("No JSON message converter for StoreInformation, pre-serialized stores can not be written.");
+            return;
+        }
+        storeFragmentSerializer.setJsonConverter((HttpMessageConverter<Object>) jsonConverter.get());
+        final PreSerializedStoresHttpMessageConverter preSerializedStoresConverter =
+                new PreSerializedStoresHttpMessageConverter(storeFragmentSerializer);
+        converters.add(0, preSerializedStoresConverter);
+        converters.add(0, new CompressibleResponseHttpMessageConverter((HttpMessageConverter<Object>) jsonConverter.get(),
+                preSerializedStoresConverter, precompressedResponseCache));
+    }
+}
@@ -1,26 +1,43 @@
 package com.amazon.green.book.service.webapp.config;
 
-import static com.amazon.green.book.service.webapp.constants.BrandConstants.AFS_BRAND_ID;
-import static com.amazon.green.book.service.webapp.constants.BrandConstants.WFM_BRAND_ID;
+import static com.amazon.green.book.service.webapp.constants.BrandConstants.PRELOADED_BRAND_IDS;
+import static com.amazon.green.book.service.webapp.constants.CacheConstants.CACHE_STATS_EXPORT_PERIOD_SECONDS;
+import static com.amazon.green.book.service.webapp.constants.CacheConstants.CATALOG_SNAPSHOT_DIRECTORY_CONFIG_KEY;
+import static com.amazon.green.book.service.webapp.constants.CacheConstants.CATALOG_SNAPSHOT_MAX_AGE_HOURS;
+import static com.amazon.green.book.service.webapp.constants.CacheConstants.DEFAULT_CATALOG_SNAPSHOT_DIRECTORY_NAME;
+import static com.amazon.green.book.service.webapp.constants.CacheConstants.DEFAULT_STORES_CACHE_MEMORY_BUDGET_MB;
+import static com.amazon.green.book.service.webapp.constants.CacheConstants.DEFAULT_ZIP_CODE_CENTROIDS_RESOURCE;
+import static com.amazon.green.book.service.webapp.constants.CacheConstants.STORES_CACHE_MEMORY_BUDGET_MB_CONFIG_KEY;
+import static com.amazon.green.book.service.webapp.constants.CacheConstants.ZIP_CODE_CENTROIDS_FILE_CONFIG_KEY;
 import static com.amazon.green.book.service.webapp.constants.ServiceConstants.DEFAULT_MARKETPLACE_ID;
-import static com.amazon.green.book.service.webapp.utils.ErrorHandler.handleExecutionException;
-import static com.amazon.green.book.service.webapp.utils.ErrorHandler.handleInterruptedException;
-import static com.amazon.green.book.service.webapp.utils.ErrorHandler.handleTimeoutException;
 
+import amazon.platform.config.AppConfig;
 import com.amazon.green.book.service.webapp.api.AlmStoresServiceApi;
+import com.amazon.green.book.service.webapp.cache.CatalogSnapshotStore;
+import com.amazon.green.book.service.webapp.cache.PrecompressedResponseCache;
+import com.amazon.green.book.service.webapp.cache.PrecompressedResponseCacheTelemetry;
 import com.amazon.green.book.service.webapp.cache.StoresForBrandCache;
+import com.amazon.green.book.service.webapp.cache.StoresForBrandCacheTelemetry;
+import com.amazon.green.book.service.webapp.cache.ZipCodeCentroids;
 import com.amazon.green.book.service.webapp.utils.MetricsEmitter;
-import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutionException;
+import com.google.common.base.Strings;
+import com.google.common.primitives.Longs;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.TimeoutException;
-import lombok.SneakyThrows;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
 
 @Configuration
+@Log4j2
 @Import({MetricsProviderConfig.class})
 public class StoresForBrandCacheConfig {
 
@@ -28,45 +45,81 @@ public class StoresForBrandCacheConfig {
      * StoresForBrandCache bean.
      *
      * @param almStoresServiceApi AlmStoreService API
-     * @param executorService ExecutorService used by cache async reload/refresh
-     * @param metricsEmitter MetricsEmitter used to log occurrence of cache exception
+     * @param catalogRefreshExecutor bounded ExecutorService used by cache async load/reload/refresh and the prewarm
+     * @param metricsEmitter MetricsEmitter used to export cache statistics and refresh counts
+     * @param precompressedResponseCache cache of the gzipped catalog search responses, its statistics are exported with the
+     *                                   catalog cache ones
+     * @param cacheTelemetryScheduler scheduler of the cache statistics export
      * @return StoresForBrandCache
      */
     @Bean
-    public StoresForBrandCache getStoresForBrandCache(final AlmStoresServiceApi almStoresServiceApi,
-                                                      final ExecutorService executorService,
-                                                      final MetricsEmitter metricsEmitter) {
-        final StoresForBrandCache storesForBrandCache = new StoresForBrandCache(almStoresServiceApi, executorService);
+    public StoresForBrandCache getStoresForBrandCache(
+            final AlmStoresServiceApi almStoresServiceApi,
+            @Qualifier("catalogRefreshExecutor") final ExecutorService catalogRefreshExecutor,
+            final MetricsEmitter metricsEmitter,
+            final PrecompressedResponseCache precompressedResponseCache,
+            @Qualifier("cacheTelemetryScheduler") final ScheduledExecutorService cacheTelemetryScheduler) {
+        final StoresForBrandCache storesForBrandCache = new StoresForBrandCache(almStoresServiceApi, catalogRefreshExecutor,
+                getMemoryBudgetMb() * 1024 * 1024, getCatalogSnapshotStore(), metricsEmitter);
 
-        try {
-            // Pre-warm the cache for WFM and AFS stores in US Marketplace
-            final CompletableFuture<Void> wfmFuture = CompletableFuture.runAsync(new Runnable() {
+        // Export cache statistics outside of requests, so they are emitted even when there is no traffic
+        cacheTelemetryScheduler.scheduleAtFixedRate(new StoresForBrandCacheTelemetry(storesForBrandCache, metricsEmitter),
+                CACHE_STATS_EXPORT_PERIOD_SECONDS, CACHE_STATS_EXPORT_PERIOD_SECONDS, TimeUnit.SECONDS);
+        cacheTelemetryScheduler.scheduleAtFixedRate(
+                new PrecompressedResponseCacheTelemetry(precompressedResponseCache, metricsEmitter),
+                CACHE_STATS_EXPORT_PERIOD_SECONDS, CACHE_STATS_EXPORT_PERIOD_SECONDS, TimeUnit.SECONDS);
 
-                @SneakyThrows
-                @Override
-                public void run() {
-                    storesForBrandCache.getAllStoresForBrand(WFM_BRAND_ID, DEFAULT_MARKETPLACE_ID);
-                }
-            });
+        // Load the catalogs of the preloaded brands in US Marketplace without blocking the startup on ALM,
+        // ReadinessController reports the service as not ready until they are loaded
+        PRELOADED_BRAND_IDS.forEach(almBrandId -> storesForBrandCache.preload(almBrandId, DEFAULT_MARKETPLACE_ID));
+        return storesForBrandCache;
+    }
+
+    /**
+     * Single thread scheduler of the cache statistics export, shut down with the application context.
+     *
+     * @return ScheduledExecutorService
+     */
+    @Bean(name = "cacheTelemetryScheduler", destroyMethod = "shutdown")
+    public ScheduledExecutorService getCacheTelemetryScheduler() {
+        return Executors.newSingleThreadScheduledExecutor(
+                new ThreadFactoryBuilder().setDaemon(true).setNameFormat("stores-cache-telemetry-%d").build());
+    }
+
+    /**
+     * Postal code centroids of the in-memory postal code searches, read from the file configured in AppConfig, or else from
+     * the classpath resource. Postal code searches are served by ALM when neither exists.
+     *
+     * @return ZipCodeCentroids
+     */
+    @Bean
+    public ZipCodeCentroids getZipCodeCentroids() {
+        final String configuredFile = AppConfig.findString(ZIP_CODE_CENTROIDS_FILE_CONFIG_KEY);
+        return Strings.isNullOrEmpty(configuredFile)
+                ? ZipCodeCentroids.fromClasspath(DEFAULT_ZIP_CODE_CENTROIDS_RESOURCE)
+                : ZipCodeCentroids.fromFile(Paths.get(configuredFile));
+    }
 
-            final CompletableFuture<Void> afsFuture = CompletableFuture.runAsync(new Runnable() {
+    private static CatalogSnapshotStore getCatalogSnapshotStore() {
+        final String configuredDirectory = AppConfig.findString(CATALOG_SNAPSHOT_DIRECTORY_CONFIG_KEY);
+        final Path directory = Strings.isNullOrEmpty(configuredDirectory)
+                ? Paths.get(System.getProperty("java.io.tmpdir"), DEFAULT_CATALOG_SNAPSHOT_DIRECTORY_NAME)
+                : Paths.get(configuredDirectory);
+        return new CatalogSnapshotStore(directory, Duration.ofHours(CATALOG_SNAPSHOT_MAX_AGE_HOURS));
+    }
 
-                @SneakyThrows
-                @Override
-                public void run() {
-                    storesForBrandCache.getAllStoresForBrand(AFS_BRAND_ID, DEFAULT_MARKETPLACE_ID);
-                }
-            });
+    private static long getMemoryBudgetMb() {
+        final String configuredBudget = AppConfig.findString(STORES_CACHE_MEMORY_BUDGET_MB_CONFIG_KEY);
+        if (Strings.isNullOrEmpty(configuredBudget)) {
+            return DEFAULT_STORES_CACHE_MEMORY_BUDGET_MB;
+        }
 
-            wfmFuture.get(3, TimeUnit.SECONDS);
-            afsFuture.get(3, TimeUnit.SECONDS);
-        } catch (ExecutionException executionException) {
-            throw handleExecutionException(executionException, metricsEmitter);
-        } catch (InterruptedException interruptedException) {
-            throw handleInterruptedException(interruptedException, metricsEmitter);
-        } catch (TimeoutException timeoutException) {
-            throw handleTimeoutException(timeoutException,metricsEmitter);
+        final Long budgetMb = Longs.tryParse(configuredBudget.trim());
+        if (budgetMb == null || budgetMb <= 0) {
+            log.warn("Invalid {}: {}, using the default of {} MB.", STORES_CACHE_MEMORY_BUDGET_MB_CONFIG_KEY, configuredBudget,
+                    DEFAULT_STORES_CACHE_MEMORY_BUDGET_MB);
+            return DEFAULT_STORES_CACHE_MEMORY_BUDGET_MB;
         }
-        return storesForBrandCache;
+        return budgetMb;
     }
 }
@@ -1,5 +1,7 @@
 package com.amazon.green.book.service.webapp.constants;
 
+import com.google.common.collect.ImmutableList;
+import java.util.List;
 import lombok.experimental.UtilityClass;
 
 @UtilityClass
@@ -7,4 +9,7 @@ public class BrandConstants {
 
     public static final String AFS_BRAND_ID = "QW1hem9uIEZyZXNo";
     public static final String WFM_BRAND_ID = "VUZHIFdob2xlIEZvb2Rz";
+
+    // Brands whose catalog is loaded on startup in DEFAULT_MARKETPLACE_ID, the service is ready once they are all loaded
+    public static final List<String> PRELOADED_BRAND_IDS = ImmutableList.of(WFM_BRAND_ID, AFS_BRAND_ID);
 }
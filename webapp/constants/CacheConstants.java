@@ -5,5 +5,39 @@ import lombok.experimental.UtilityClass;
 @UtilityClass
 public class CacheConstants {
     public static final long CACHE_TTL_HOURS = 8;
-    public static final String CACHE_KEY_SEPARATOR = ",";
+
+    // Memory budget of the stores for brand cache, in MB of estimated catalog heap size, overridable through AppConfig
+    public static final String STORES_CACHE_MEMORY_BUDGET_MB_CONFIG_KEY = "GreenBookService.StoresCacheMemoryBudgetMb";
+    public static final long DEFAULT_STORES_CACHE_MEMORY_BUDGET_MB = 256;
+
+    // Period of the cache stats export, see StoresForBrandCacheTelemetry and PrecompressedResponseCacheTelemetry
+    public static final long CACHE_STATS_EXPORT_PERIOD_SECONDS = 60;
+
+    // Local disk snapshots of the stores for brand catalogs, read on startup, see CatalogSnapshotStore
+    public static final String CATALOG_SNAPSHOT_DIRECTORY_CONFIG_KEY = "GreenBookService.CatalogSnapshotDirectory";
+    public static final String DEFAULT_CATALOG_SNAPSHOT_DIRECTORY_NAME = "green-book-catalog-snapshots";
+    public static final long CATALOG_SNAPSHOT_MAX_AGE_HOURS = 72;
+
+    // Canonical city, state, timezone and address line strings shared by the cached stores, see StringDeduplicator
+    public static final long STRING_DEDUP_TABLE_MAX_SIZE = 100_000;
+
+    // Browsers and CDNs may reuse a search response served from a brand catalog for this long, and revalidate it with its
+    // ETag afterwards, see SearchStoresController
+    public static final long SEARCH_STORES_MAX_AGE_SECONDS = 300;
+
+    // Gzipped search responses of the brand catalogs, see PrecompressedResponseCache
+    public static final long PRECOMPRESSED_RESPONSE_CACHE_MAX_MB = 64;
+    public static final int PRECOMPRESSED_RESPONSE_MIN_BYTES = 1024;
+
+    // Postal code discovery results only depend on (almBrandId, marketplaceId, postalCode), so they are shared across customers.
+    // Discovered stores are bounded by their estimated heap size, postal codes without stores by their count.
+    public static final long POSTAL_CODE_CACHE_MAX_MB = 32;
+    public static final long POSTAL_CODE_NOT_FOUND_CACHE_MAX_SIZE = 20_000;
+    public static final long POSTAL_CODE_CACHE_TTL_MINUTES = 60;
+    public static final long POSTAL_CODE_NOT_FOUND_CACHE_TTL_MINUTES = 10;
+
+    // Postal code centroids answering 5 digits postal code searches from the brand catalogs, read from the configured file
+    // or else from the classpath resource, see ZipCodeCentroids
+    public static final String ZIP_CODE_CENTROIDS_FILE_CONFIG_KEY = "GreenBookService.ZipCodeCentroidsFile";
+    public static final String DEFAULT_ZIP_CODE_CENTROIDS_RESOURCE = "/zip-code-centroids.csv";
 }
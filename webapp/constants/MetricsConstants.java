@@ -14,8 +14,18 @@ public class MetricsConstants {
     public static final String DISCOVER_PICKUP_STORES_OPERATION = "discoverPickupStores";
     public static final String FIND_STORES_FOR_BRAND_OPERATION = "findStoresForBrand";
 
+    public static final String STORES_FOR_BRAND_CACHE_OPERATION = "StoresForBrandCache";
+    public static final String CACHE_KEY_PROP = "CacheKey";
+    public static final String PRECOMPRESSED_RESPONSE_CACHE_OPERATION = "PrecompressedResponseCache";
+
     public static final String STORE_FINDER_PAGE_TYPE = "StoreFinder";
 
+    // Same metrics as the declarative @Availability, @Timeout and @ErrorPercentage, for requests completed asynchronously,
+    // see AsyncRequestMetrics
+    public static final String AVAILABILITY = "Availability:Critical";
+    public static final String TIMEOUT = "Timeout:Critical";
+    public static final String ERROR_PERCENTAGE = "ErrorPercentage";
+
     public static final String ALM_STORE_SERVICE = "ALM_STORE_SERVICE";
 
     public static final String ERROR_404_OPERATION = "NotFound";
@@ -27,6 +37,36 @@ public class MetricsConstants {
     public static final String DISCOVER_IN_STORE_STORES_NOT_FOUND = "DiscoverGeoInStoreStores.NotFound";
     public static final String DISCOVER_PICKUP_STORES_NOT_FOUND = "DiscoverGeoPickupStores.NotFound";
     public static final String ALM_STORE_LOCATION_NOT_FOUND = "ALMStoreLocation.NotFound";
+    public static final String DISCOVER_IN_STORE_STORES_COALESCED_CALLERS = "DiscoverGeoInStoreStores.CoalescedCallers";
+    public static final String DISCOVER_PICKUP_STORES_COALESCED_CALLERS = "DiscoverGeoPickupStores.CoalescedCallers";
+    public static final String POSTAL_CODE_CACHE_HIT = "PostalCodeDiscoveryCache.Hit";
+    public static final String POSTAL_CODE_CACHE_NOT_FOUND_HIT = "PostalCodeDiscoveryCache.NotFoundHit";
+    public static final String POSTAL_CODE_CACHE_MISS = "PostalCodeDiscoveryCache.Miss";
+    // Executor metrics are named <executor>.<metric>, see InstrumentedExecutorService
+    public static final String ASYNC_EXECUTOR = "AsyncExecutor";
+    public static final String CATALOG_REFRESH_EXECUTOR = "CatalogRefreshExecutor";
+    public static final String EXECUTOR_ACTIVE_TASKS = "ActiveTasks";
+    public static final String EXECUTOR_QUEUE_DEPTH = "QueueDepth";
+    public static final String EXECUTOR_WAIT_TIME = "WaitTime";
+    public static final String EXECUTOR_REJECTED = "Rejected";
+    public static final String STORES_CACHE_HIT = "StoresForBrandCache.Hit";
+    public static final String STORES_CACHE_MISS = "StoresForBrandCache.Miss";
+    public static final String STORES_CACHE_LOAD_SUCCESS = "StoresForBrandCache.LoadSuccess";
+    public static final String STORES_CACHE_LOAD_FAILURE = "StoresForBrandCache.LoadFailure";
+    public static final String STORES_CACHE_LOAD_TIME = "StoresForBrandCache.LoadTime";
+    public static final String STORES_CACHE_EVICTION = "StoresForBrandCache.Eviction";
+    public static final String STORES_CACHE_ENTRY_AGE = "StoresForBrandCache.EntryAge";
+    public static final String STORES_CACHE_REFRESH_ADDED = "StoresForBrandCache.RefreshAdded";
+    public static final String STORES_CACHE_REFRESH_REMOVED = "StoresForBrandCache.RefreshRemoved";
+    public static final String STORES_CACHE_REFRESH_CHANGED = "StoresForBrandCache.RefreshChanged";
+    public static final String STORES_CACHE_REFRESH_HOURS_CHANGED = "StoresForBrandCache.RefreshHoursChanged";
+    public static final String STORES_CACHE_STRING_DEDUP_HITS = "StoresForBrandCache.StringDedupHits";
+    public static final String STORES_CACHE_STRING_DEDUP_BYTES_SAVED = "StoresForBrandCache.StringDedupBytesSaved";
+    public static final String STORES_CACHE_STRING_DEDUP_TABLE_SIZE = "StoresForBrandCache.StringDedupTableSize";
+    public static final String PRECOMPRESSED_RESPONSE_CACHE_HIT = "PrecompressedResponseCache.Hit";
+    public static final String PRECOMPRESSED_RESPONSE_CACHE_MISS = "PrecompressedResponseCache.Miss";
+    public static final String PRECOMPRESSED_RESPONSE_CACHE_EVICTION = "PrecompressedResponseCache.Eviction";
+    public static final String PRECOMPRESSED_RESPONSE_CACHE_SIZE = "PrecompressedResponseCache.Size";
     public static final String EXECUTION_EXCEPTION = "ExecutionException";
     public static final String INTERRUPTED_EXCEPTION = "InterruptedException";
     public static final String TIMEOUT_EXCEPTION = "TimeoutException";
@@ -15,4 +15,27 @@ public class ServiceConstants {
 
     public static final String US_REALM = "USAmazon";
     public static final String DEFAULT_MARKETPLACE_ID = "ATVPDKIKX0DER";
+
+    // Radius used when discovering stores near a postal code, both by ALM and by the in-memory catalog
+    public static final Double RADIUS_MILES = 50.0;
+
+    // Upper bound for an async API request, ALM calls alone can take up to 4 seconds with retries
+    public static final long ASYNC_REQUEST_TIMEOUT_MS = 5000;
+
+    // AppConfig key selecting the threads running ALM calls, cache reloads and the cache prewarm, see ExecutionMode
+    public static final String EXECUTION_MODE_CONFIG_KEY = "GreenBookService.ExecutionMode";
+
+    // Bounds of the thread pool running the StoresForBrandCache loads, refreshes and prewarm. There are a handful of catalogs,
+    // refreshes beyond the queue capacity are rejected and the current catalog keeps being served
+    public static final int CATALOG_REFRESH_EXECUTOR_THREADS = 4;
+    public static final int CATALOG_REFRESH_EXECUTOR_QUEUE_CAPACITY = 32;
+    public static final long CATALOG_REFRESH_EXECUTOR_KEEP_ALIVE_SECONDS = 60;
+    public static final String CATALOG_REFRESH_EXECUTOR_THREAD_NAME_FORMAT = "catalog-refresh-%d";
+
+    // ALM calls are logged as summaries, their payloads only for a sampled share of the calls, see AlmPayloadLogger.
+    // Sample rates are set per ALM operation, e.g. GreenBookService.AlmPayloadSampleRate.discoverPickupStores = 0.01
+    public static final String ALM_PAYLOAD_SAMPLE_RATE_CONFIG_KEY_PREFIX = "GreenBookService.AlmPayloadSampleRate.";
+    public static final double DEFAULT_ALM_PAYLOAD_SAMPLE_RATE = 0.0;
+    public static final int ALM_PAYLOAD_LOG_MAX_CHARS = 16_384;
+    public static final int ALM_PAYLOAD_LOG_QUEUE_CAPACITY = 1024;
 }
@@ -1,13 +1,10 @@
 package com.amazon.green.book.service.webapp.context;
 
-import static java.util.Arrays.stream;
-import static org.apache.commons.lang3.StringUtils.isAlpha;
-import static org.apache.commons.lang3.StringUtils.isBlank;
-import static org.apache.commons.lang3.StringUtils.isNumeric;
-import static org.apache.commons.lang3.Validate.isTrue;
-
+import com.amazon.green.book.service.webapp.cache.SearchableStore;
 import com.amazon.green.book.service.webapp.exceptions.GreenBookInvalidInputException;
 import com.amazon.shopping.portal.protocol.Header;
+import com.google.common.collect.ImmutableList;
+import java.util.List;
 import javax.servlet.http.HttpServletRequest;
 import lombok.Getter;
 import lombok.extern.log4j.Log4j2;
@@ -18,18 +15,24 @@ public class SearchStoreRequestContext {
 
     public static final String SPACE = " ";
 
-    private static final String ALPHA_NUMERIC_COMMA_SPACE_REGEX = "^[a-zA-Z0-9, ]*$";
-    private static final String SPACE_REGEX = "[ ]+";
+    private static final char SPACE_CHAR = ' ';
+    private static final char COMMA_CHAR = ',';
     private static final String POSTAL_CODE = "postalCode";
-    private static final String COMMA = ",";
+    private static final String INVALID_CHARACTERS = "invalid characters in the query.";
+    private static final String INVALID_LENGTH = "Query min length should be at least 2 chars.";
+    private static final String INVALID_WORDS = "All words in the query should be either 100% alphabetic or 100% numeric.";
+    private static final String POSTAL_CODE_ALREADY_SET = POSTAL_CODE + " has already been set.";
 
     private final String marketplaceId;
     private final String almBrandId;
-    private String postalCode;
+    private final String postalCode;
 
     // This field extracts the alpha chars in raw search query and is later used to match stores by city and state fields
     // in StoresFilter class
-    private String alphaChars = "";
+    private final String alphaChars;
+
+    // The words of alphaChars normalized like the search fields of cached stores, see SearchableStore
+    private final List<String> alphaWords;
 
     /**
      * Constructing SearchStoreRequestContext from almBrandId and search query.
@@ -45,55 +48,76 @@ public class SearchStoreRequestContext {
         this.marketplaceId = request.getHeader(Header.X_AMZ_PORTAL_MARKETPLACE_ID.name());
         this.almBrandId = almBrandId;
 
-        // raw query should only contain letter, number, comma and space
-        if (!query.matches(ALPHA_NUMERIC_COMMA_SPACE_REGEX)) {
-            throw handleInvalidSearchQuery(query, "invalid characters in the query.");
-        }
-
-        if (query.trim().length() < 2) {
-            throw handleInvalidSearchQuery(query, "Query min length should be at least 2 chars.");
-        }
-
-        // This regex breaks query into tokens by 1 or unlimited space, for example
-        // " wa seattle          98101" -> [wa, seattle, 98101]
-        final String[] queryTokens = query.replace(COMMA, SPACE).trim().split(SPACE_REGEX);
+        // The query is parsed in a single pass over its chars. Words are separated by any number of commas and spaces, for
+        // example " wa,seattle          98101" -> [wa, seattle, 98101]. Each word has to be either 100% alphabetic or 100%
+        // numeric, e.g. "abc123" is invalid.
+        // Errors are reported with the same precedence as ever: invalid characters first, then the query length, then the
+        // first invalid word, so an invalid word is remembered until the whole query has been checked for invalid characters.
+        final StringBuilder alphaCharsBuilder = new StringBuilder(query.length());
+        final ImmutableList.Builder<String> alphaWordsBuilder = ImmutableList.builder();
+        String parsedPostalCode = null;
+        String invalidWordReason = null;
+        int firstNonSpaceIndex = -1;
+        int lastNonSpaceIndex = -1;
+        int wordStart = 0;
+        boolean wordHasLetter = false;
+        boolean wordHasDigit = false;
+
+        for (int i = 0; i <= query.length(); i++) {
+            // the end of the query ends the last word
+            final char c = i < query.length() ? query.charAt(i) : SPACE_CHAR;
+            if (c != SPACE_CHAR && i < query.length()) {
+                firstNonSpaceIndex = firstNonSpaceIndex < 0 ? i : firstNonSpaceIndex;
+                lastNonSpaceIndex = i;
+            }
 
-        stream(queryTokens).forEach(token -> {
-            if (isAlpha(token)) {
-                this.alphaChars += token + SPACE;
-            } else if (isNumeric(token)) {
-                // we only deal with 5 digits US postalCode format for now
-                isAttributeNotSet(POSTAL_CODE, this.postalCode, query);
-                this.postalCode = token;
-            } else if (!isBlank(token)) {
-                // for example, query "abc123 seattle" could trigger this with a token "abc123" that can't be parsed
-                // each single token has to be either 100% alphabetic or 100% numeric
-                throw handleInvalidSearchQuery(query, "All words in the query should be either 100% alphabetic or 100% numeric.");
+            if (isAsciiLetter(c)) {
+                wordHasLetter = true;
+            } else if (c >= '0' && c <= '9') {
+                wordHasDigit = true;
+            } else if (c == SPACE_CHAR || c == COMMA_CHAR) {
+                if (i > wordStart && invalidWordReason == null) {
+                    final String word = query.substring(wordStart, i);
+                    if (!wordHasDigit) {
+                        alphaCharsBuilder.append(alphaCharsBuilder.length() == 0 ? "" : SPACE).append(word);
+                        alphaWordsBuilder.add(SearchableStore.normalize(word));
+                    } else if (wordHasLetter) {
+                        // for example, query "abc123 seattle" could trigger this with a word "abc123" that can't be parsed
+                        invalidWordReason = INVALID_WORDS;
+                    } else if (parsedPostalCode != null) {
+                        // we only deal with 5 digits US postalCode format for now
+                        invalidWordReason = POSTAL_CODE_ALREADY_SET;
+                    } else {
+                        parsedPostalCode = word;
+                    }
+                }
+                wordStart = i + 1;
+                wordHasLetter = false;
+                wordHasDigit = false;
+            } else {
+                // raw query should only contain letter, number, comma and space
+                throw handleInvalidSearchQuery(query, INVALID_CHARACTERS);
             }
-            // it is possible to have blank token, just continue the loop to ignore such token
-        });
+        }
 
+        if (firstNonSpaceIndex < 0 || lastNonSpaceIndex - firstNonSpaceIndex + 1 < 2) {
+            throw handleInvalidSearchQuery(query, INVALID_LENGTH);
+        }
+        if (invalidWordReason != null) {
+            throw handleInvalidSearchQuery(query, invalidWordReason);
+        }
         // for example raw search query like ",,,,,,," could trigger this if clause
-        if (isBlank(this.alphaChars) && isBlank(this.postalCode)) {
-            throw handleInvalidSearchQuery(query, "All words in the query should be either 100% alphabetic or 100% numeric.");
+        if (alphaCharsBuilder.length() == 0 && parsedPostalCode == null) {
+            throw handleInvalidSearchQuery(query, INVALID_WORDS);
         }
 
-        // After processing the last alphabetic word, the alphaChars will have a trailing space.
-        // For example raw query "seat,wa" will produce alphaChars = "seat wa " because when dealing with "wa",
-        // alphaChars = "seat " + "wa" + " ". So at the very end need to trim the trailing space
-        this.alphaChars = this.alphaChars.trim();
+        this.postalCode = parsedPostalCode;
+        this.alphaChars = alphaCharsBuilder.toString();
+        this.alphaWords = alphaWordsBuilder.build();
     }
 
-    // check if an attribute has been set yet
-    private void isAttributeNotSet(final String attributeName,
-                                   final Object oldValue,
-                                   final String query) {
-        final String message = attributeName + " has already been set.";
-        try {
-            isTrue(oldValue == null);
-        } catch (IllegalArgumentException ex) {
-            throw handleInvalidSearchQuery(query, message);
-        }
+    private static boolean isAsciiLetter(final char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
     }
 
     // return the exception back to the caller functions to throw in order to reach 100% code coverage in the caller functions
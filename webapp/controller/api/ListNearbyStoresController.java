@@ -5,19 +5,18 @@ import static com.amazon.green.book.service.webapp.constants.MetricsConstants.LI
 import static com.amazon.green.book.service.webapp.constants.MetricsConstants.OPERATION_PROP;
 import static com.amazon.green.book.service.webapp.constants.UrlMapping.LIST_NEARBY_STORES_URL;
 import static com.amazon.green.book.service.webapp.utils.AlmBrandIdValidator.validateAlmBrandId;
+import static com.amazon.green.book.service.webapp.utils.AsyncCalls.toDeferredResult;
 
 import com.amazon.green.book.service.model.StoreInformation;
 import com.amazon.green.book.service.webapp.api.AlmStoresServiceApi;
 import com.amazon.green.book.service.webapp.constants.MetricsConstants;
 import com.amazon.green.book.service.webapp.context.ListNearbyStoreRequestContext;
+import com.amazon.green.book.service.webapp.utils.AsyncRequestMetrics;
 import com.amazon.horizonte.spring.annotations.PageType;
 import com.amazon.metrics.declarative.WithMetrics;
-import com.amazon.metrics.declarative.metrics.ErrorPercentage;
-import com.amazon.metrics.declarative.metrics.InclusionMode;
 import com.amazon.metrics.declarative.metrics.Prop;
-import com.amazon.metrics.declarative.servicemetrics.Availability;
-import com.amazon.metrics.declarative.servicemetrics.Timeout;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import javax.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.MediaType;
@@ -25,31 +24,37 @@ import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.context.request.async.DeferredResult;
 
 @Controller
 @RequiredArgsConstructor
 public class ListNearbyStoresController {
 
     private final AlmStoresServiceApi almStoresServiceApi;
+    private final AsyncRequestMetrics asyncRequestMetrics;
 
     /**
      * Discover nearby ALM stores from the customer info.
      *
+     * <p>The servlet thread is released while ALM is called. Availability, timeout and error metrics are recorded once the
+     * response is complete, see AsyncRequestMetrics.
+     *
      * @param httpServletRequest the HTTP request containing ip address
      * @param almBrandId         an entity that owns regional stores (ALM Stores) like WFM, AFS, Sprouts etc
-     * @return a list of nearby stores
+     * @return the deferred list of nearby stores
      */
     @RequestMapping(value = LIST_NEARBY_STORES_URL, produces = MediaType.APPLICATION_JSON_VALUE)
     @PageType(pageType = MetricsConstants.STORE_FINDER_PAGE_TYPE)
     @Prop(name = OPERATION_PROP, value = LIST_NEARBY_STORES_OPERATION)
     @WithMetrics
-    @Availability
-    @Timeout
-    @ErrorPercentage(useDeclared = false, mode = InclusionMode.INCLUDE)
     @ResponseBody
-    public List<StoreInformation> listNearbyStores(final HttpServletRequest httpServletRequest,
-                                                   @RequestParam(value = "almBrandId") final String almBrandId) {
+    public DeferredResult<List<StoreInformation>> listNearbyStores(final HttpServletRequest httpServletRequest,
+                                                                   @RequestParam(value = "almBrandId") final String almBrandId) {
+        return asyncRequestMetrics.record(LIST_NEARBY_STORES_OPERATION, () -> discoverNearbyStores(httpServletRequest, almBrandId));
+    }
 
+    private DeferredResult<List<StoreInformation>> discoverNearbyStores(final HttpServletRequest httpServletRequest,
+                                                                        final String almBrandId) {
         final ListNearbyStoreRequestContext requestContext = new ListNearbyStoreRequestContext(httpServletRequest, almBrandId);
         final String marketplaceId = requestContext.getMarketplaceId();
         final String sessionId = requestContext.getSessionId();
@@ -58,15 +63,17 @@ public class ListNearbyStoresController {
 
         validateAlmBrandId(almBrandId);
 
+        final CompletableFuture<List<StoreInformation>> nearbyStores;
         // after validation almBrandId could only be either AFS or WFM
         if (AFS_BRAND_ID.equals(almBrandId)) {
             // AFS in-store stores are defined here: https://tiny.amazon.com/thjc87ul/codeamazpackALMStreemainreso
-            return almStoresServiceApi
-                    .discoverGeoInStoreStores(almBrandId, marketplaceId, customerId, sessionId, ipAddress, null);
+            nearbyStores = almStoresServiceApi
+                    .discoverGeoInStoreStoresAsync(almBrandId, marketplaceId, customerId, sessionId, ipAddress, null);
         } else {
             // WFM pick-up stores are defined here: https://tiny.amazon.com/zgzkaqn5/codeamazpackALMStreemainreso
-            return almStoresServiceApi
-                    .discoverGeoPickupStores(almBrandId, marketplaceId, customerId, sessionId, ipAddress, null);
+            nearbyStores = almStoresServiceApi
+                    .discoverGeoPickupStoresAsync(almBrandId, marketplaceId, customerId, sessionId, ipAddress, null);
         }
+        return toDeferredResult(nearbyStores);
     }
 }
@@ -0,0 +1,51 @@
+package com.amazon.green.book.service.webapp.controller.api;
+
+import static com.amazon.green.book.service.webapp.constants.BrandConstants.PRELOADED_BRAND_IDS;
+import static com.amazon.green.book.service.webapp.constants.ServiceConstants.DEFAULT_MARKETPLACE_ID;
+import static com.amazon.green.book.service.webapp.constants.UrlMapping.READINESS_URL;
+
+import com.amazon.green.book.service.webapp.cache.StoresForBrandCache;
+import java.util.List;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+/**
+ * Readiness check for the load balancer and deployments.
+ *
+ * <p>The service starts without waiting for the brand catalogs, it is ready to take traffic once the catalogs of the
+ * preloaded brands are in the cache.
+ */
+@Controller
+@RequiredArgsConstructor
+public class ReadinessController {
+
+    private static final String READY = "READY";
+    private static final String NOT_READY = "NOT_READY, loading catalogs of brands: ";
+
+    private final StoresForBrandCache storesForBrandCache;
+
+    /**
+     * Reports whether the catalogs of the preloaded brands are loaded.
+     *
+     * @return 200 when ready, 503 with the brands still loading otherwise
+     */
+    @RequestMapping(value = READINESS_URL, produces = MediaType.TEXT_PLAIN_VALUE)
+    @ResponseBody
+    public ResponseEntity<String> isReady() {
+        // a catalog that is missing, e.g. because its first load failed, is loaded again here
+        final List<String> loadingBrandIds = PRELOADED_BRAND_IDS.stream()
+                .filter(almBrandId -> !storesForBrandCache.getCatalogIfLoaded(almBrandId, DEFAULT_MARKETPLACE_ID).isPresent())
+                .collect(Collectors.toList());
+
+        if (loadingBrandIds.isEmpty()) {
+            return ResponseEntity.ok(READY);
+        }
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(NOT_READY + String.join(",", loadingBrandIds));
+    }
+}
@@ -1,88 +1,167 @@
 package com.amazon.green.book.service.webapp.controller.api;
 
-import static com.amazon.green.book.service.webapp.constants.BrandConstants.AFS_BRAND_ID;
+import static com.amazon.green.book.service.webapp.constants.CacheConstants.SEARCH_STORES_MAX_AGE_SECONDS;
 import static com.amazon.green.book.service.webapp.constants.MetricsConstants.OPERATION_PROP;
 import static com.amazon.green.book.service.webapp.constants.MetricsConstants.SEARCH_STORES_OPERATION;
+import static com.amazon.green.book.service.webapp.constants.ServiceConstants.RADIUS_MILES;
 import static com.amazon.green.book.service.webapp.constants.UrlMapping.SEARCH_STORES_URL;
 import static com.amazon.green.book.service.webapp.utils.AlmBrandIdValidator.validateAlmBrandId;
-import static com.amazon.green.book.service.webapp.utils.ErrorHandler.handleExecutionException;
+import static com.amazon.green.book.service.webapp.utils.AsyncCalls.toDeferredResult;
+import static com.amazon.green.book.service.webapp.utils.MarketplaceIdValidator.validateMarketplaceId;
 import static com.amazon.green.book.service.webapp.utils.StoresFilter.filterStoresByQuery;
 import static org.apache.commons.lang3.StringUtils.isNumeric;
 
 import com.amazon.green.book.service.model.StoreInformation;
-import com.amazon.green.book.service.webapp.api.AlmStoresServiceApi;
+import com.amazon.green.book.service.webapp.cache.CatalogSearchKey;
+import com.amazon.green.book.service.webapp.cache.PostalCodeDiscoveryCache;
+import com.amazon.green.book.service.webapp.cache.StoreCatalog;
+import com.amazon.green.book.service.webapp.cache.StoresCacheKey;
 import com.amazon.green.book.service.webapp.cache.StoresForBrandCache;
+import com.amazon.green.book.service.webapp.cache.ZipCodeCentroids;
+import com.amazon.green.book.service.webapp.cache.ZipCodeCentroids.Centroid;
 import com.amazon.green.book.service.webapp.constants.MetricsConstants;
 import com.amazon.green.book.service.webapp.context.SearchStoreRequestContext;
-import com.amazon.green.book.service.webapp.utils.MetricsEmitter;
+import com.amazon.green.book.service.webapp.converter.CompressibleResponse;
+import com.amazon.green.book.service.webapp.converter.PreSerializedStoreList;
+import com.amazon.green.book.service.webapp.converter.StoreFragmentSerializer;
+import com.amazon.green.book.service.webapp.exceptions.GreenBookServiceUnavailableException;
+import com.amazon.green.book.service.webapp.utils.AsyncRequestMetrics;
 import com.amazon.horizonte.spring.annotations.PageType;
 import com.amazon.metrics.declarative.WithMetrics;
-import com.amazon.metrics.declarative.metrics.ErrorPercentage;
-import com.amazon.metrics.declarative.metrics.InclusionMode;
 import com.amazon.metrics.declarative.metrics.Prop;
-import com.amazon.metrics.declarative.servicemetrics.Availability;
-import com.amazon.metrics.declarative.servicemetrics.Timeout;
+import com.amazon.shopping.portal.protocol.Header;
 import java.util.List;
-import java.util.concurrent.ExecutionException;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.async.DeferredResult;
 
 @Controller
 @RequiredArgsConstructor
 public class SearchStoresController {
 
-    private final AlmStoresServiceApi almStoresServiceApi;
+    // the response depends on the marketplace header, and on the negotiated content encoding
+    private static final String SEARCH_STORES_VARY =
+            HttpHeaders.ACCEPT_ENCODING + ", " + Header.X_AMZ_PORTAL_MARKETPLACE_ID.name();
+
+    private final PostalCodeDiscoveryCache postalCodeDiscoveryCache;
     private final StoresForBrandCache storesForBrandCache;
-    private final MetricsEmitter metricsEmitter;
+    private final ZipCodeCentroids zipCodeCentroids;
+    private final StoreFragmentSerializer storeFragmentSerializer;
+    private final AsyncRequestMetrics asyncRequestMetrics;
 
     /**
      * Search ALM stores by search query containing city, state and postal code.
      *
+     * <p>Searches answered from memory complete right away, the servlet thread is released while ALM is called otherwise.
+     * Searches that need the brand catalog fail with 503 while it is loading. Requests without a marketplaceId header are
+     * rejected as invalid input.
+     *
+     * <p>Availability, timeout and error metrics are recorded once the response is complete, see AsyncRequestMetrics.
+     *
+     * <p>Responses computed from the brand catalog carry an ETag of the catalog version and the normalized query, a request
+     * whose If-None-Match matches it gets a 304 without searching the catalog nor writing the stores.
+     *
      * @param httpServletRequest the HTTP request
+     * @param httpServletResponse the HTTP response
      * @param almBrandId an entity that owns regional stores (ALM Stores) like WFM, AFS, Sprouts etc
      * @param query the search query which may contains city, state and postalCode to search the stores from.
-     * @return a list of stores that match search query, empty if no matches.
+     * @return the deferred list of stores that match search query, empty if no matches. Either a List of StoreInformation
+     *         or, for stores served from the brand catalog, a CompressibleResponse with the same JSON. null if the response
+     *         was not modified.
      */
     @RequestMapping(value = SEARCH_STORES_URL, produces = MediaType.APPLICATION_JSON_VALUE)
     @PageType(pageType = MetricsConstants.STORE_FINDER_PAGE_TYPE)
     @Prop(name = OPERATION_PROP, value = SEARCH_STORES_OPERATION)
     @WithMetrics
-    @Availability
-    @Timeout
-    @ErrorPercentage(useDeclared = false, mode = InclusionMode.INCLUDE)
     @ResponseBody
-    public List<StoreInformation> searchStores(final HttpServletRequest httpServletRequest,
-                                               @RequestParam(value = "almBrandId") final String almBrandId,
-                                               @RequestParam(value = "query") final String query) {
+    public DeferredResult<?> searchStores(final HttpServletRequest httpServletRequest,
+                                          final HttpServletResponse httpServletResponse,
+                                          @RequestParam(value = "almBrandId") final String almBrandId,
+                                          @RequestParam(value = "query") final String query) {
+        return asyncRequestMetrics.record(SEARCH_STORES_OPERATION,
+                () -> search(httpServletRequest, httpServletResponse, almBrandId, query));
+    }
+
+    private DeferredResult<?> search(final HttpServletRequest httpServletRequest,
+                                     final HttpServletResponse httpServletResponse,
+                                     final String almBrandId,
+                                     final String query) {
         validateAlmBrandId(almBrandId);
 
         final SearchStoreRequestContext requestContext = new SearchStoreRequestContext(httpServletRequest, almBrandId, query);
         final String marketplaceId = requestContext.getMarketplaceId();
+        validateMarketplaceId(marketplaceId);
         final String postalCode = requestContext.getPostalCode();
         final String alphaChars = requestContext.getAlphaChars();
+        final List<String> alphaWords = requestContext.getAlphaWords();
+        final Optional<StoreCatalog> catalog = storesForBrandCache.getCatalogIfLoaded(almBrandId, marketplaceId);
 
         // if a complete 5 digits US postal code is provided, first search stores near(50 miles radius) that postal code
         // then further filter based on provided city and state regardless of postal code
         if (isNumeric(postalCode) && postalCode.length() == 5) {
-            // after validation almBrandId could only be either AFS or WFM
-            if (AFS_BRAND_ID.equals(almBrandId)) {
-                return filterStoresByQuery(almStoresServiceApi.discoverGeoInStoreStores(almBrandId, marketplaceId,
-                        null, null, null, postalCode), null, alphaChars);
-            } else {
-                return filterStoresByQuery(almStoresServiceApi.discoverGeoPickupStores(almBrandId, marketplaceId,
-                        null, null, null, postalCode), null, alphaChars);
+            // the brand catalog holds every store with its geocode, so ALM is only needed for postal codes we can't locate
+            // or while the catalog is loading
+            final Optional<Centroid> centroid = zipCodeCentroids.getCentroid(postalCode);
+            if (!centroid.isPresent() || !catalog.isPresent()) {
+                return toDeferredResult(postalCodeDiscoveryCache.discoverStoresAsync(almBrandId, marketplaceId, postalCode),
+                        stores -> filterStoresByQuery(stores, null, alphaChars));
             }
+
+            final CatalogSearchKey searchKey = new CatalogSearchKey(StoresCacheKey.of(almBrandId, marketplaceId),
+                    catalog.get().getVersion(storeFragmentSerializer), postalCode, alphaWords);
+            if (isNotModified(httpServletRequest, httpServletResponse, searchKey)) {
+                return null;
+            }
+            final List<StoreInformation> nearbyStores = catalog.get()
+                    .getSpatialIndex()
+                    .findStoresWithinRadius(centroid.get().getLatitude(), centroid.get().getLongitude(), RADIUS_MILES,
+                            store -> store.matches(null, alphaWords));
+            return toDeferredResult(CompletableFuture.completedFuture(compressible(httpServletRequest, searchKey, nearbyStores)));
         }
 
-        try {
-            return filterStoresByQuery(storesForBrandCache.getAllStoresForBrand(almBrandId, marketplaceId), postalCode, alphaChars);
-        } catch (ExecutionException executionException) {
-            throw handleExecutionException(executionException, metricsEmitter);
+        // answer right away rather than holding the request while the catalog loads, the client can retry
+        final StoreCatalog loadedCatalog = catalog
+                .orElseThrow(() -> new GreenBookServiceUnavailableException("Stores of the brand are loading, retry later"));
+        final CatalogSearchKey searchKey = new CatalogSearchKey(StoresCacheKey.of(almBrandId, marketplaceId),
+                loadedCatalog.getVersion(storeFragmentSerializer), postalCode, alphaWords);
+        if (isNotModified(httpServletRequest, httpServletResponse, searchKey)) {
+            return null;
         }
+        // catalog stores are written from their memoized JSON rather than serialized on every search
+        final PreSerializedStoreList stores =
+                new PreSerializedStoreList(loadedCatalog.getSearchIndex().searchSearchableStores(postalCode, alphaWords));
+        return toDeferredResult(CompletableFuture.completedFuture(compressible(httpServletRequest, searchKey, stores)));
+    }
+
+    // responses computed from the catalog are gzipped once per catalog generation and query
+    private static CompressibleResponse compressible(final HttpServletRequest httpServletRequest,
+                                                     final CatalogSearchKey searchKey,
+                                                     final Object body) {
+        return new CompressibleResponse(searchKey, body,
+                CompressibleResponse.acceptsGzip(httpServletRequest.getHeader(HttpHeaders.ACCEPT_ENCODING)));
+    }
+
+    // sets the caching headers of a response computed from the catalog, true if the client already has it
+    private static boolean isNotModified(final HttpServletRequest httpServletRequest,
+                                         final HttpServletResponse httpServletResponse,
+                                         final CatalogSearchKey searchKey) {
+        final String etag = searchKey.toEtag();
+        httpServletResponse.setHeader(HttpHeaders.CACHE_CONTROL,
+                CacheControl.maxAge(SEARCH_STORES_MAX_AGE_SECONDS, TimeUnit.SECONDS).cachePublic().getHeaderValue());
+        httpServletResponse.setHeader(HttpHeaders.VARY, SEARCH_STORES_VARY);
+        // sets the ETag, and the 304 status if it matches If-None-Match
+        return new ServletWebRequest(httpServletRequest, httpServletResponse).checkNotModified(etag);
     }
 }
@@ -12,30 +12,30 @@ import static com.amazon.green.book.service.webapp.constants.PageConstants.STORE
 import static com.amazon.green.book.service.webapp.constants.PageConstants.SUCCESS_PAGE_NAME;
 import static com.amazon.green.book.service.webapp.constants.UrlMapping.GET_STORE_FINDER_URL;
 import static com.amazon.green.book.service.webapp.utils.AlmBrandIdValidator.validateAlmBrandId;
+import static com.amazon.green.book.service.webapp.utils.AsyncCalls.toDeferredResult;
 
 import com.amazon.green.book.service.model.StoreInformation;
 import com.amazon.green.book.service.webapp.api.AlmStoresServiceApi;
 import com.amazon.green.book.service.webapp.bindings.ServiceStage;
 import com.amazon.green.book.service.webapp.context.StoreFinderRequestContext;
+import com.amazon.green.book.service.webapp.utils.AsyncRequestMetrics;
 import com.amazon.horizonte.csrf.annotations.DisableCsrfInterceptors;
 import com.amazon.horizonte.raw.server.spring.params.RawParams;
 import com.amazon.horizonte.spring.annotations.PageType;
 import com.amazon.horizonte.utils.HorizonteUtils;
 import com.amazon.metrics.declarative.WithMetrics;
-import com.amazon.metrics.declarative.metrics.ErrorPercentage;
-import com.amazon.metrics.declarative.metrics.InclusionMode;
 import com.amazon.metrics.declarative.metrics.Prop;
-import com.amazon.metrics.declarative.servicemetrics.Availability;
-import com.amazon.metrics.declarative.servicemetrics.Timeout;
 import com.amazon.reacttoolkit.injector.annotation.ReactToolkitAssets;
 import com.google.gson.Gson;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import javax.inject.Inject;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.context.request.async.DeferredResult;
 import org.springframework.web.servlet.ModelAndView;
 
 /**
@@ -51,6 +51,7 @@ public class StoreFinderController {
     private final AlmStoresServiceApi almStoresServiceApi;
     private final Gson gson;
     private final String serviceStage;
+    private final AsyncRequestMetrics asyncRequestMetrics;
 
     /**
      * Construct a create StoreFinderController instance.
@@ -58,36 +59,42 @@ public class StoreFinderController {
      * @param almStoresServiceApi AlmStoreService API
      * @param gson                gson
      * @param serviceStage        service stage
+     * @param asyncRequestMetrics records the outcome of the requests once they complete
      */
     @Inject
     public StoreFinderController(final AlmStoresServiceApi almStoresServiceApi,
                                  final Gson gson,
-                                 @ServiceStage final String serviceStage) {
+                                 @ServiceStage final String serviceStage,
+                                 final AsyncRequestMetrics asyncRequestMetrics) {
         this.almStoresServiceApi = almStoresServiceApi;
         this.gson = gson;
         this.serviceStage = serviceStage;
+        this.asyncRequestMetrics = asyncRequestMetrics;
     }
 optout.horizonte.SecureByDefaultCSRFHeaderProtection=false
 
     /**
      * Core Spring Controller for StoreFinder Widget.
      *
+     * <p>The servlet thread is released while ALM is called. Availability, timeout and error metrics are recorded once the
+     * page is complete, see AsyncRequestMetrics.
+     *
      * @param rawParams RAW Remote Accessible Widget parameters.
-     * @return Spring ModelAndView object with error message or List of StoreInformation.
+     * @return deferred Spring ModelAndView object with error message or List of StoreInformation.
      */
     @ReactToolkitAssets(assets = {ASSET_PACKAGE_NAME})
     @RequestMapping(GET_STORE_FINDER_URL)
     @PageType(pageType = STORE_FINDER_PAGE_TYPE)
     @Prop(name = OPERATION_PROP, value = GET_STORE_FINDER_OPERATION)
     @WithMetrics
-    @Availability
-    @Timeout
-    @ErrorPercentage(useDeclared = false, mode = InclusionMode.INCLUDE)
     @ResponseBody
     // This is read only end point and uses RAW. See: https://skb.highcastle.a2z.com/implementations/224
     @DisableCsrfInterceptors
-    public ModelAndView execute(@RawParams final Map<String, String[]> rawParams) {
+    public DeferredResult<ModelAndView> execute(@RawParams final Map<String, String[]> rawParams) {
+        return asyncRequestMetrics.record(GET_STORE_FINDER_OPERATION, () -> renderStoreFinder(rawParams));
+    }
 
+    private DeferredResult<ModelAndView> renderStoreFinder(final Map<String, String[]> rawParams) {
         // Convert the rawParams(String, String[]) into HashMap of (String,String)
         final Map<String, String> rawParamsMap = new HashMap<>();
         for (Map.Entry<String, String[]> entry : rawParams.entrySet()) {
@@ -102,30 +109,32 @@ optout.horizonte.SecureByDefaultCSRFHeaderProtection=false
         final String almBrandId = requestContext.getAlmBrandId();
         final String deviceType = requestContext.getDeviceType();
 
-        List<StoreInformation> storeInformationList;
-        String pageTitle;
+        final CompletableFuture<List<StoreInformation>> storeInformationList;
+        final String pageTitle;
 
         validateAlmBrandId(almBrandId);
 
         // after validation almBrandId could only be either AFS or WFM
         if (AFS_BRAND_ID.equals(almBrandId)) {
             // AFS in-store stores are defined here: https://tiny.amazon.com/thjc87ul/codeamazpackALMStreemainreso
-            storeInformationList = almStoresServiceApi.discoverGeoInStoreStores(almBrandId, marketplaceId, customerId,
+            storeInformationList = almStoresServiceApi.discoverGeoInStoreStoresAsync(almBrandId, marketplaceId, customerId,
                     sessionId, ipAddress, null);
             pageTitle = AFS_PAGE_TITLE;
         } else {
             // WFM pick-up stores are defined here: https://tiny.amazon.com/zgzkaqn5/codeamazpackALMStreemainreso
-            storeInformationList = almStoresServiceApi.discoverGeoPickupStores(almBrandId, marketplaceId, customerId,
+            storeInformationList = almStoresServiceApi.discoverGeoPickupStoresAsync(almBrandId, marketplaceId, customerId,
                     sessionId, ipAddress, null);
             pageTitle = WFM_PAGE_TITLE;
         }
 
-        final ModelAndView modelAndView = new ModelAndView(SUCCESS_PAGE_NAME);
-        modelAndView.addObject(STORE_INFORMATION_LIST, gson.toJson(storeInformationList));
-        modelAndView.addObject(DEVICE_TYPE, deviceType);
-        modelAndView.addObject(ALM_BRAND_ID, almBrandId);
-        modelAndView.addObject(SERVICE_STAGE, serviceStage);
-        modelAndView.addObject(PAGE_TITLE, pageTitle);
-        return modelAndView;
+        return toDeferredResult(storeInformationList, stores -> {
+            final ModelAndView modelAndView = new ModelAndView(SUCCESS_PAGE_NAME);
+            modelAndView.addObject(STORE_INFORMATION_LIST, gson.toJson(stores));
+            modelAndView.addObject(DEVICE_TYPE, deviceType);
+            modelAndView.addObject(ALM_BRAND_ID, almBrandId);
+            modelAndView.addObject(SERVICE_STAGE, serviceStage);
+            modelAndView.addObject(PAGE_TITLE, pageTitle);
+            return modelAndView;
+        });
     }
 }
@@ -0,0 +1,33 @@
+package com.amazon.green.book.service.webapp.converter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+
+/**
+ * HttpOutputMessage buffering its body in memory, used to capture what a message converter writes.
+ */
+class BufferedOutputMessage implements HttpOutputMessage {
+
+    private final HttpHeaders headers = new HttpHeaders();
+    private final ByteArrayOutputStream body;
+
+    BufferedOutputMessage(final int initialCapacity) {
+        this.body = new ByteArrayOutputStream(initialCapacity);
+    }
+
+    @Override
+    public OutputStream getBody() {
+        return body;
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+        return headers;
+    }
+
+    byte[] toByteArray() {
+        return body.toByteArray();
+    }
+}
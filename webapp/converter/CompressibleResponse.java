@@ -0,0 +1,65 @@
+package com.amazon.green.book.service.webapp.converter;
+
+import com.amazon.green.book.service.webapp.cache.CatalogSearchKey;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Response body computed from a brand catalog, written gzipped once per catalog generation and query by
+ * {@link CompressibleResponseHttpMessageConverter} when the client accepts it.
+ */
+@Getter
+@RequiredArgsConstructor
+public class CompressibleResponse {
+
+    private static final String GZIP = "gzip";
+    private static final String X_GZIP = "x-gzip";
+    private static final String ANY = "*";
+    private static final String QUALITY_PARAMETER = "q=";
+
+    // identifies the body, the same key always yields the same body
+    private final CatalogSearchKey cacheKey;
+    // the body as the controller would return it, a PreSerializedStoreList or a List of StoreInformation
+    private final Object body;
+    private final boolean gzipAccepted;
+
+    /**
+     * Checks whether an Accept-Encoding header allows a gzip response, an explicit gzip coding overriding "*".
+     *
+     * @param acceptEncoding the Accept-Encoding header, may be null
+     * @return true if gzip has a non zero quality
+     */
+    public static boolean acceptsGzip(final String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Boolean gzipAccepted = null;
+        boolean anyAccepted = false;
+        for (final String coding : acceptEncoding.split(",")) {
+            final String[] codingParts = coding.split(";");
+            final String codingName = codingParts[0].trim();
+            boolean accepted = true;
+            for (int i = 1; i < codingParts.length; i++) {
+                final String parameter = codingParts[i].trim();
+                if (parameter.startsWith(QUALITY_PARAMETER)) {
+                    accepted = parseQuality(parameter.substring(QUALITY_PARAMETER.length())) > 0;
+                }
+            }
+            if (GZIP.equalsIgnoreCase(codingName) || X_GZIP.equalsIgnoreCase(codingName)) {
+                gzipAccepted = accepted;
+            } else if (ANY.equals(codingName)) {
+                anyAccepted = accepted;
+            }
+        }
+        return gzipAccepted != null ? gzipAccepted : anyAccepted;
+    }
+
+    private static double parseQuality(final String quality) {
+        try {
+            return Double.parseDouble(quality.trim());
+        } catch (NumberFormatException numberFormatException) {
+            // an unreadable quality does not make the coding acceptable
+            return 0;
+        }
+    }
+}
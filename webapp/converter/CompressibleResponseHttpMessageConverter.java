@@ -0,0 +1,122 @@
+package com.amazon.green.book.service.webapp.converter;
+
+import static com.amazon.green.book.service.webapp.constants.CacheConstants.PRECOMPRESSED_RESPONSE_MIN_BYTES;
+
+import com.amazon.green.book.service.webapp.cache.PrecompressedResponseCache;
+import com.amazon.green.book.service.webapp.cache.PrecompressedResponseCache.EncodedBody;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.zip.GZIPOutputStream;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+/**
+ * Writes a {@link CompressibleResponse}, gzipped if the client accepts it.
+ *
+ * <p>Gzipped bodies are cached by catalog, version and query in the {@link PrecompressedResponseCache}, so a response is
+ * serialized and compressed once per catalog generation rather than on every request. Bodies smaller than {@code PRECOMPRESSED_RESPONSE_MIN_BYTES} are cached as is, gzip saves too little on them to be worth
+ * the decompression on the client.
+ *
+ * <p>Clients that do not accept gzip get the body written by the converter that would have written it otherwise.
+ */
+public class CompressibleResponseHttpMessageConverter extends AbstractHttpMessageConverter<CompressibleResponse> {
+
+    private static final String GZIP_CONTENT_ENCODING = "gzip";
+    private static final int BODY_BUFFER_BYTES = 8192;
+
+    private final HttpMessageConverter<Object> jsonConverter;
+    private final PreSerializedStoresHttpMessageConverter preSerializedStoresConverter;
+    private final PrecompressedResponseCache gzipAcceptedBodies;
+
+    /**
+     * Constructor for the CompressibleResponseHttpMessageConverter.
+     *
+     * @param jsonConverter                the JSON converter writing lists of StoreInformation
+     * @param preSerializedStoresConverter the converter writing PreSerializedStoreList
+     * @param gzipAcceptedBodies           the cache of the bodies written to clients accepting gzip
+     */
+    public CompressibleResponseHttpMessageConverter(final HttpMessageConverter<Object> jsonConverter,
+                                                    final PreSerializedStoresHttpMessageConverter preSerializedStoresConverter,
+                                                    final PrecompressedResponseCache gzipAcceptedBodies) {
+        super(MediaType.APPLICATION_JSON);
+        this.jsonConverter = jsonConverter;
+        this.preSerializedStoresConverter = preSerializedStoresConverter;
+        this.gzipAcceptedBodies = gzipAcceptedBodies;
+    }
+
+    @Override
+    protected boolean supports(final Class<?> clazz) {
+        return CompressibleResponse.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    protected boolean canRead(final MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected CompressibleResponse readInternal(final Class<? extends CompressibleResponse> clazz,
+                                                final HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("CompressibleResponse is a response body only", inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(final CompressibleResponse response, final HttpOutputMessage outputMessage) throws IOException {
+        if (!response.isGzipAccepted()) {
+            writeBody(response.getBody(), outputMessage);
+            return;
+        }
+
+        final EncodedBody encodedBody;
+        try {
+            encodedBody = gzipAcceptedBodies.get(response.getCacheKey(), cacheKey -> encode(response.getBody()));
+        } catch (UncheckedIOException uncheckedIOException) {
+            throw uncheckedIOException.getCause();
+        }
+        // headers are sent with the first byte of the body
+        if (encodedBody.isGzipped()) {
+            outputMessage.getHeaders().set(HttpHeaders.CONTENT_ENCODING, GZIP_CONTENT_ENCODING);
+        }
+        outputMessage.getHeaders().setContentLength(encodedBody.getBytes().length);
+        outputMessage.getBody().write(encodedBody.getBytes());
+    }
+
+    @Override
+    protected Long getContentLength(final CompressibleResponse response, final MediaType contentType) {
+        // set in writeInternal, once the encoding is known
+        return null;
+    }
+
+    private EncodedBody encode(final Object body) {
+        try {
+            final BufferedOutputMessage plainBody = new BufferedOutputMessage(BODY_BUFFER_BYTES);
+            writeBody(body, plainBody);
+            final byte[] plainBytes = plainBody.toByteArray();
+            if (plainBytes.length < PRECOMPRESSED_RESPONSE_MIN_BYTES) {
+                return new EncodedBody(plainBytes, false);
+            }
+
+            final ByteArrayOutputStream gzippedBody = new ByteArrayOutputStream(plainBytes.length / 4);
+            try (GZIPOutputStream gzipOutputStream = new GZIPOutputStream(gzippedBody, BODY_BUFFER_BYTES)) {
+                gzipOutputStream.write(plainBytes);
+            }
+            return new EncodedBody(gzippedBody.toByteArray(), true);
+        } catch (IOException ioException) {
+            throw new UncheckedIOException(ioException);
+        }
+    }
+
+    private void writeBody(final Object body, final HttpOutputMessage outputMessage) throws IOException {
+        if (body instanceof PreSerializedStoreList) {
+            preSerializedStoresConverter.write((PreSerializedStoreList) body, MediaType.APPLICATION_JSON, outputMessage);
+        } else {
+            jsonConverter.write(body, MediaType.APPLICATION_JSON, outputMessage);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.amazon.green.book.service.webapp.converter;
+
+import com.amazon.green.book.service.webapp.cache.SearchableStore;
+import java.util.List;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Response body of cached stores, written as a JSON array of their memoized JSON fragments by
+ * {@link PreSerializedStoresHttpMessageConverter}. The JSON is the same as the one of the list of their StoreInformation.
+ */
+@Getter
+@RequiredArgsConstructor
+public class PreSerializedStoreList {
+
+    private final List<SearchableStore> stores;
+}
@@ -0,0 +1,74 @@
+package com.amazon.green.book.service.webapp.converter;
+
+import com.amazon.green.book.service.model.StoreInformation;
+import com.amazon.green.book.service.webapp.cache.SearchableStore;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.function.Function;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+/**
+ * Writes a {@link PreSerializedStoreList} by copying the memoized JSON fragment of each store to the response.
+ *
+ * <p>Fragments are produced once per store and catalog generation by the {@link StoreFragmentSerializer}, with the JSON
+ * converter that would otherwise serialize the stores on every request, so the response is byte for byte the same as before.
+ */
+public class PreSerializedStoresHttpMessageConverter extends AbstractHttpMessageConverter<PreSerializedStoreList> {
+
+    private static final byte[] ARRAY_START = {'['};
+    private static final byte[] ARRAY_SEPARATOR = {','};
+    private static final byte[] ARRAY_END = {']'};
+
+    private final Function<StoreInformation, byte[]> storeSerializer;
+
+    /**
+     * Constructor for the PreSerializedStoresHttpMessageConverter.
+     *
+     * @param storeSerializer produces the store fragments
+     */
+    public PreSerializedStoresHttpMessageConverter(final Function<StoreInformation, byte[]> storeSerializer) {
+        super(MediaType.APPLICATION_JSON);
+        this.storeSerializer = storeSerializer;
+    }
+
+    @Override
+    protected boolean supports(final Class<?> clazz) {
+        return PreSerializedStoreList.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    protected boolean canRead(final MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected PreSerializedStoreList readInternal(final Class<? extends PreSerializedStoreList> clazz,
+                                                  final HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("PreSerializedStoreList is a response body only", inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(final PreSerializedStoreList storeList, final HttpOutputMessage outputMessage) throws IOException {
+        final List<SearchableStore> stores = storeList.getStores();
+        final OutputStream body = outputMessage.getBody();
+        body.write(ARRAY_START);
+        for (int i = 0; i < stores.size(); i++) {
+            if (i > 0) {
+                body.write(ARRAY_SEPARATOR);
+            }
+            body.write(stores.get(i).getJsonFragment(storeSerializer));
+        }
+        body.write(ARRAY_END);
+    }
+
+    @Override
+    protected Long getContentLength(final PreSerializedStoreList storeList, final MediaType contentType) {
+        // fragments may not all be serialized yet
+        return null;
+    }
+}
@@ -0,0 +1,50 @@
+package com.amazon.green.book.service.webapp.converter;
+
+import com.amazon.green.book.service.model.StoreInformation;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Function;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.stereotype.Component;
+
+/**
+ * Serializes a store to the UTF-8 JSON fragment written for it in responses, see SearchableStore.getJsonFragment.
+ *
+ * <p>Fragments are produced by the JSON converter that would otherwise serialize the stores on every request, registered
+ * once the message converters are configured, see PreSerializedStoresConfig. Both the catalog versions and the response
+ * bodies are computed from these fragments, so an ETag always matches the bytes it was served with.
+ */
+@Component
+public class StoreFragmentSerializer implements Function<StoreInformation, byte[]> {
+
+    private volatile HttpMessageConverter<Object> jsonConverter;
+
+    /**
+     * Sets the JSON converter producing the fragments.
+     *
+     * @param jsonConverter the JSON converter writing StoreInformation
+     */
+    public void setJsonConverter(final HttpMessageConverter<Object> jsonConverter) {
+        this.jsonConverter = jsonConverter;
+    }
+
+    @Override
+    public byte[] apply(final StoreInformation store) {
+        final HttpMessageConverter<Object> converter = jsonConverter;
+        if (converter == null) {
+            throw new IllegalStateException("No JSON message converter registered to serialize stores");
+        }
+
+        final BufferedOutputMessage outputMessage = new BufferedOutputMessage(512);
+        try {
+            converter.write(store, MediaType.APPLICATION_JSON, outputMessage);
+        } catch (IOException ioException) {
+            throw new UncheckedIOException(ioException);
+        } catch (HttpMessageNotWritableException notWritableException) {
+            throw new IllegalStateException("Failed to serialize store " + store.getStoreId(), notWritableException);
+        }
+        return outputMessage.toByteArray();
+    }
+}
@@ -0,0 +1,20 @@
+package com.amazon.green.book.service.webapp.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Indicates that a request timed out waiting for a dependency.
+ */
+@ResponseStatus(value = HttpStatus.INTERNAL_SERVER_ERROR)
+public class GreenBookDependencyTimeoutException extends GreenBookDependencyException {
+
+    /**
+     * Constructs an exception with message.
+     *
+     * @param message Exception message
+     */
+    public GreenBookDependencyTimeoutException(final String message) {
+        super(message);
+    }
+}
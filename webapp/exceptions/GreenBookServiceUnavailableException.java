@@ -0,0 +1,30 @@
+package com.amazon.green.book.service.webapp.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Indicates the service can not answer yet, e.g. while its caches are loading. The request can be retried.
+ */
+@ResponseStatus(value = HttpStatus.SERVICE_UNAVAILABLE)
+public class GreenBookServiceUnavailableException extends RuntimeException {
+
+    /**
+     * Constructs an exception with message.
+     *
+     * @param message Exception message
+     */
+    public GreenBookServiceUnavailableException(final String message) {
+        super(message);
+    }
+
+    /**
+     * Constructs an exception with message and cause.
+     *
+     * @param message Exception message
+     * @param cause   Exception throwable
+     */
+    public GreenBookServiceUnavailableException(final String message, final Throwable cause) {
+        super(message, cause);
+    }
+}
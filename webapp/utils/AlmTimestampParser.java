@@ -0,0 +1,118 @@
+package com.amazon.green.book.service.webapp.utils;
+
+import java.time.Instant;
+import lombok.experimental.UtilityClass;
+
+/**
+ * Parses the ISO-8601 UTC timestamps of ALM store hours, e.g. "2021-05-07T07:00:00Z".
+ *
+ * <p>ALM always sends them as {@code yyyy-MM-ddTHH:mm:ssZ}, which is parsed here without {@link java.time.format.DateTimeFormatter}.
+ * Any other form, or an invalid date, falls back to {@link Instant#parse}, so results and errors are the same as its.
+ *
+ * <p>Store hours repeat a handful of values across stores (dates at midnight, common opening and closing times), so
+ * recently parsed timestamps are memoized in a small direct-mapped table. Entries are immutable, a thread reading a stale or
+ * overwritten slot only misses the memo.
+ */
+@UtilityClass
+public class AlmTimestampParser {
+
+    private static final int TIMESTAMP_LENGTH = 20;
+    private static final int MEMO_SIZE = 512;
+    private static final int SECONDS_PER_DAY = 86_400;
+    // days from 0000-03-01 to 1970-01-01 in the proleptic Gregorian calendar
+    private static final long DAYS_0000_TO_1970 = 719_468;
+
+    private static final MemoEntry[] MEMO = new MemoEntry[MEMO_SIZE];
+
+    /**
+     * Parses an ALM timestamp.
+     *
+     * @param text the timestamp, e.g. "2021-05-07T07:00:00Z"
+     * @return the instant
+     * @throws java.time.format.DateTimeParseException if the timestamp is not a valid ISO-8601 instant
+     */
+    public static Instant parse(final String text) {
+        final int slot = text.hashCode() & (MEMO_SIZE - 1);
+        final MemoEntry memoEntry = MEMO[slot];
+        if (memoEntry != null && memoEntry.text.equals(text)) {
+            return memoEntry.instant;
+        }
+
+        final long epochSecond = parseEpochSecond(text);
+        final Instant instant = epochSecond == Long.MIN_VALUE ? Instant.parse(text) : Instant.ofEpochSecond(epochSecond);
+        MEMO[slot] = new MemoEntry(text, instant);
+        return instant;
+    }
+
+    // epoch second of a valid yyyy-MM-ddTHH:mm:ssZ timestamp, Long.MIN_VALUE for anything else
+    private static long parseEpochSecond(final String text) {
+        if (text.length() != TIMESTAMP_LENGTH || text.charAt(4) != '-' || text.charAt(7) != '-' || text.charAt(10) != 'T'
+                || text.charAt(13) != ':' || text.charAt(16) != ':' || text.charAt(19) != 'Z') {
+            return Long.MIN_VALUE;
+        }
+        final int year = digits(text, 0, 4);
+        final int month = digits(text, 5, 2);
+        final int day = digits(text, 8, 2);
+        final int hour = digits(text, 11, 2);
+        final int minute = digits(text, 14, 2);
+        final int second = digits(text, 17, 2);
+        // leap seconds and other oddities are left to Instant.parse
+        if (year < 0 || month < 1 || month > 12 || day < 1 || day > lengthOfMonth(year, month)
+                || hour < 0 || hour > 23 || minute < 0 || minute > 59 || second < 0 || second > 59) {
+            return Long.MIN_VALUE;
+        }
+        return epochDay(year, month, day) * SECONDS_PER_DAY + hour * 3600L + minute * 60L + second;
+    }
+
+    // value of count ASCII digits, -1 if any is not a digit
+    private static int digits(final String text, final int start, final int count) {
+        int value = 0;
+        for (int i = start; i < start + count; i++) {
+            final int digit = text.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    private static int lengthOfMonth(final int year, final int month) {
+        switch (month) {
+            case 2:
+                return isLeapYear(year) ? 29 : 28;
+            case 4:
+            case 6:
+            case 9:
+            case 11:
+                return 30;
+            default:
+                return 31;
+        }
+    }
+
+    private static boolean isLeapYear(final int year) {
+        return (year & 3) == 0 && (year % 100 != 0 || year % 400 == 0);
+    }
+
+    // days since 1970-01-01, with years starting in March so that the leap day is the last day of the year
+    private static long epochDay(final int year, final int month, final int day) {
+        final int marchBasedYear = month <= 2 ? year - 1 : year;
+        final int era = (marchBasedYear >= 0 ? marchBasedYear : marchBasedYear - 399) / 400;
+        final int yearOfEra = marchBasedYear - era * 400;
+        final int dayOfYear = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+        final int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146_097L + dayOfEra - DAYS_0000_TO_1970;
+    }
+
+    private static final class MemoEntry {
+
+        private final String text;
+        private final Instant instant;
+
+        private MemoEntry(final String text, final Instant instant) {
+            this.text = text;
+            this.instant = instant;
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.amazon.green.book.service.webapp.utils;
+
+import static com.amazon.green.book.service.webapp.constants.ServiceConstants.ASYNC_REQUEST_TIMEOUT_MS;
+
+import com.amazon.green.book.service.webapp.exceptions.GreenBookDependencyTimeoutException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import lombok.experimental.UtilityClass;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.web.context.request.async.DeferredResult;
+
+@Log4j2
+@UtilityClass
+public class AsyncCalls {
+
+    /**
+     * Runs a blocking call on the executor.
+     *
+     * <p>Unlike {@link CompletableFuture#supplyAsync}, cancelling the returned future interrupts the thread running the call,
+     * so that in-flight work (e.g. Coral retries) stops when nobody is waiting for it anymore.
+     *
+     * @param call            the blocking call
+     * @param executorService the executor to run the call on
+     * @param <T>             call result type
+     * @return future of the call result
+     */
+    public static <T> CompletableFuture<T> supplyCancellableAsync(final Supplier<T> call, final ExecutorService executorService) {
+        final CompletableFuture<T> result = new CompletableFuture<>();
+        final Future<?> task;
+        try {
+            task = executorService.submit(() -> {
+                try {
+                    result.complete(call.get());
+                } catch (Throwable throwable) {
+                    result.completeExceptionally(throwable);
+                }
+            });
+        } catch (RuntimeException submitException) {
+            result.completeExceptionally(submitException);
+            return result;
+        }
+
+        result.whenComplete((value, throwable) -> {
+            if (result.isCancelled()) {
+                task.cancel(true);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Adapts a future to a Spring MVC DeferredResult, so the servlet thread is released while the future completes.
+     *
+     * <p>The future is cancelled when the request times out or the client goes away, see
+     * {@link #toDeferredResult(CompletableFuture, Function)}.
+     *
+     * @param future the future of the response
+     * @param <T>    response type
+     * @return DeferredResult completed with the future result or exception
+     */
+    public static <T> DeferredResult<T> toDeferredResult(final CompletableFuture<T> future) {
+        return toDeferredResult(future, Function.identity());
+    }
+
+    /**
+     * Adapts a future to a Spring MVC DeferredResult, so the servlet thread is released while the future completes.
+     *
+     * <p>When the request times out, it fails with a GreenBookDependencyTimeoutException. When it times out or the client goes
+     * away, the future is cancelled so that the work behind it stops, see {@link #supplyCancellableAsync}. A call shared with
+     * other requests keeps running for them, see InFlightCallCoalescer.
+     *
+     * @param future         the future of the call, cancelled when the request is given up on
+     * @param responseMapper maps the call result to the response
+     * @param <T>            call result type
+     * @param <R>            response type
+     * @return DeferredResult completed with the mapped future result or exception
+     */
+    public static <T, R> DeferredResult<R> toDeferredResult(final CompletableFuture<T> future,
+                                                            final Function<? super T, ? extends R> responseMapper) {
+        final DeferredResult<R> deferredResult = new DeferredResult<>(ASYNC_REQUEST_TIMEOUT_MS);
+
+        deferredResult.onTimeout(() -> {
+            log.error("Request timed out after {} ms.", ASYNC_REQUEST_TIMEOUT_MS);
+            deferredResult.setErrorResult(new GreenBookDependencyTimeoutException("Timed out waiting for dependencies"));
+            future.cancel(true);
+        });
+        deferredResult.onError(throwable -> {
+            log.info("Request failed or client disconnected.", throwable);
+            future.cancel(true);
+        });
+
+        future.whenComplete((value, throwable) -> {
+            if (throwable != null) {
+                deferredResult.setErrorResult(throwable instanceof CompletionException ? throwable.getCause() : throwable);
+                return;
+            }
+            try {
+                deferredResult.setResult(responseMapper.apply(value));
+            } catch (RuntimeException mapperException) {
+                deferredResult.setErrorResult(mapperException);
+            }
+        });
+        return deferredResult;
+    }
+}
@@ -0,0 +1,71 @@
+package com.amazon.green.book.service.webapp.utils;
+
+import static com.amazon.green.book.service.webapp.constants.MetricsConstants.AVAILABILITY;
+import static com.amazon.green.book.service.webapp.constants.MetricsConstants.ERROR_PERCENTAGE;
+import static com.amazon.green.book.service.webapp.constants.MetricsConstants.TIMEOUT;
+
+import com.amazon.green.book.service.webapp.exceptions.GreenBookDependencyTimeoutException;
+import com.amazon.green.book.service.webapp.exceptions.GreenBookInvalidInputException;
+import com.google.common.collect.ImmutableMap;
+import java.io.IOException;
+import java.util.function.Supplier;
+import javax.measure.unit.Unit;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.async.DeferredResult;
+
+/**
+ * Records the availability, timeout and error percentage of a request handled with a DeferredResult, once it completes.
+ *
+ * <p>The declarative @Availability, @Timeout and @ErrorPercentage metrics are recorded when the handler method returns,
+ * i.e. before the work behind its DeferredResult is done, so they would count every request completed asynchronously as
+ * available. Handlers returning a DeferredResult record them through this instead, under their Operation.
+ *
+ * <p>Invalid input and client disconnects are errors but do not count against availability.
+ */
+@RequiredArgsConstructor
+@Component
+public class AsyncRequestMetrics {
+
+    private final MetricsEmitter metricsEmitter;
+
+    /**
+     * Runs a request handler and records the outcome of the request once its DeferredResult completes.
+     *
+     * <p>The completion callback of the DeferredResult is taken by this, handlers must not set their own.
+     *
+     * @param operation the operation of the request
+     * @param handler   handles the request, it may throw or return null if the response is already complete
+     * @param <R>       DeferredResult type
+     * @return the DeferredResult returned by the handler
+     */
+    public <R extends DeferredResult<?>> R record(final String operation, final Supplier<R> handler) {
+        final R deferredResult;
+        try {
+            deferredResult = handler.get();
+        } catch (RuntimeException exception) {
+            emitOutcome(operation, exception);
+            throw exception;
+        }
+
+        if (deferredResult == null) {
+            emitOutcome(operation, null);
+            return null;
+        }
+        deferredResult.onCompletion(() -> {
+            final Object result = deferredResult.getResult();
+            emitOutcome(operation, result instanceof Throwable ? (Throwable) result : null);
+        });
+        return deferredResult;
+    }
+
+    private void emitOutcome(final String operation, final Throwable error) {
+        final boolean available = error == null || error instanceof GreenBookInvalidInputException || error instanceof IOException;
+        // the request metrics are closed by now
+        metricsEmitter.emitStandalone(operation, ImmutableMap.of(), metrics -> {
+            metrics.addCount(AVAILABILITY, available ? 1 : 0, Unit.ONE);
+            metrics.addCount(TIMEOUT, error instanceof GreenBookDependencyTimeoutException ? 1 : 0, Unit.ONE);
+            metrics.addCount(ERROR_PERCENTAGE, error == null ? 0 : 100, Unit.ONE);
+        });
+    }
+}
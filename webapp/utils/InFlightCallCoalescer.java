@@ -0,0 +1,134 @@
+package com.amazon.green.book.service.webapp.utils;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.IntConsumer;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent identical calls into a single in-flight call.
+ *
+ * <p>The first caller for a key starts the call, callers arriving with the same key while it is in flight join it and
+ * receive the same result or exception. Nothing is kept once the call completes, so this is not a cache.
+ *
+ * <p>Every caller gets its own future. Cancelling it only gives up on the call for that caller, the call itself is cancelled
+ * once all of its callers gave up, e.g. their requests all timed out or their clients all disconnected.
+ *
+ * @param <K> key identifying identical calls, it must implement equals and hashCode
+ * @param <V> call result
+ */
+public class InFlightCallCoalescer<K, V> {
+
+    private final ConcurrentMap<K, InFlightCall<V>> inFlightCalls = new ConcurrentHashMap<>();
+    private final IntConsumer coalescedCallersListener;
+
+    /**
+     * Constructor for the InFlightCallCoalescer.
+     *
+     * @param coalescedCallersListener notified once per started call with the number of callers that joined it
+     */
+    public InFlightCallCoalescer(final IntConsumer coalescedCallersListener) {
+        this.coalescedCallersListener = coalescedCallersListener;
+    }
+
+    /**
+     * Starts the call, or joins the identical call already in flight.
+     *
+     * @param key  key identifying identical calls
+     * @param call starts the call, cancelling the future it returns should stop the call
+     * @return future of the call result for this caller, cancel it to give up on the call
+     */
+    public CompletableFuture<V> execute(final K key, final Supplier<CompletableFuture<V>> call) {
+        while (true) {
+            final InFlightCall<V> newCall = new InFlightCall<>();
+            final InFlightCall<V> inFlightCall = inFlightCalls.putIfAbsent(key, newCall);
+            if (inFlightCall == null) {
+                start(key, newCall, call);
+                return waiterOf(key, newCall);
+            }
+            if (inFlightCall.join()) {
+                return waiterOf(key, inFlightCall);
+            }
+            // all callers of the call in flight gave up and it is being cancelled, start another one
+            inFlightCalls.remove(key, inFlightCall);
+        }
+    }
+
+    private void start(final K key, final InFlightCall<V> inFlightCall, final Supplier<CompletableFuture<V>> call) {
+        CompletableFuture<V> task;
+        try {
+            task = call.get();
+        } catch (RuntimeException startException) {
+            task = new CompletableFuture<>();
+            task.completeExceptionally(startException);
+        }
+
+        final CompletableFuture<V> startedTask = task;
+        startedTask.whenComplete((value, throwable) -> {
+            inFlightCalls.remove(key, inFlightCall);
+            coalescedCallersListener.accept(inFlightCall.getCoalescedCallers());
+            if (throwable != null) {
+                inFlightCall.result.completeExceptionally(unwrap(throwable));
+            } else {
+                inFlightCall.result.complete(value);
+            }
+        });
+        // cancelled once all callers gave up, possibly before the call was even started
+        inFlightCall.result.whenComplete((value, throwable) -> {
+            if (inFlightCall.result.isCancelled()) {
+                startedTask.cancel(true);
+            }
+        });
+    }
+
+    private CompletableFuture<V> waiterOf(final K key, final InFlightCall<V> inFlightCall) {
+        final CompletableFuture<V> waiter = new CompletableFuture<>();
+        inFlightCall.result.whenComplete((value, throwable) -> {
+            if (throwable != null) {
+                waiter.completeExceptionally(unwrap(throwable));
+            } else {
+                waiter.complete(value);
+            }
+        });
+        waiter.whenComplete((value, throwable) -> {
+            if (waiter.isCancelled() && inFlightCall.release()) {
+                inFlightCalls.remove(key, inFlightCall);
+                inFlightCall.result.cancel(true);
+            }
+        });
+        return waiter;
+    }
+
+    // the exception the call threw, rather than the CompletionException wrapping it in dependent futures
+    private static Throwable unwrap(final Throwable throwable) {
+        return throwable instanceof CompletionException && throwable.getCause() != null ? throwable.getCause() : throwable;
+    }
+
+    private static final class InFlightCall<V> {
+
+        private final CompletableFuture<V> result = new CompletableFuture<>();
+        // callers that did not give up yet, the call can no longer be joined once it drops to 0
+        private int waiters = 1;
+        private int coalescedCallers;
+
+        private synchronized boolean join() {
+            if (waiters == 0) {
+                return false;
+            }
+            waiters++;
+            coalescedCallers++;
+            return true;
+        }
+
+        // true if this was the last caller waiting for the call
+        private synchronized boolean release() {
+            return --waiters == 0;
+        }
+
+        private synchronized int getCoalescedCallers() {
+            return coalescedCallers;
+        }
+    }
+}
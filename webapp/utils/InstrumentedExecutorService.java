@@ -0,0 +1,122 @@
+package com.amazon.green.book.service.webapp.utils;
+
+import static com.amazon.green.book.service.webapp.constants.MetricsConstants.EXECUTOR_ACTIVE_TASKS;
+import static com.amazon.green.book.service.webapp.constants.MetricsConstants.EXECUTOR_QUEUE_DEPTH;
+import static com.amazon.green.book.service.webapp.constants.MetricsConstants.EXECUTOR_REJECTED;
+import static com.amazon.green.book.service.webapp.constants.MetricsConstants.EXECUTOR_WAIT_TIME;
+
+import com.amazon.coral.metrics.Metrics;
+import com.google.common.collect.ImmutableMap;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import javax.measure.unit.SI;
+import javax.measure.unit.Unit;
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * ExecutorService emitting the active tasks, queue depth, task wait time and rejections of the executor it wraps.
+ *
+ * <p>Active tasks and queue depth are emitted when a task is submitted, the wait time when it starts running and rejections
+ * when the wrapped executor refuses a task. The counts are kept here rather than read from the wrapped executor, so they
+ * work the same for thread pools and virtual threads. Metrics are named after the executor, e.g. AsyncExecutor.QueueDepth.
+ *
+ * <p>Tasks are also submitted outside of any request, e.g. by the catalog preload and cache refreshes, so the metrics are
+ * emitted as their own records, with the executor name as Operation.
+ */
+@Log4j2
+public class InstrumentedExecutorService extends AbstractExecutorService {
+
+    private final ExecutorService delegate;
+    private final MetricsEmitter metricsEmitter;
+    private final String executorName;
+    private final String activeTasksMetric;
+    private final String queueDepthMetric;
+    private final String waitTimeMetric;
+    private final String rejectedMetric;
+    private final AtomicInteger queuedTasks = new AtomicInteger();
+    private final AtomicInteger activeTasks = new AtomicInteger();
+
+    /**
+     * Constructor for the InstrumentedExecutorService.
+     *
+     * @param delegate       the executor running the tasks
+     * @param metricsEmitter MetricsEmitter used to emit the executor metrics
+     * @param executorName   name of the executor, prefix of its metrics
+     */
+    public InstrumentedExecutorService(final ExecutorService delegate,
+                                       final MetricsEmitter metricsEmitter,
+                                       final String executorName) {
+        this.delegate = delegate;
+        this.metricsEmitter = metricsEmitter;
+        this.executorName = executorName;
+        this.activeTasksMetric = executorName + "." + EXECUTOR_ACTIVE_TASKS;
+        this.queueDepthMetric = executorName + "." + EXECUTOR_QUEUE_DEPTH;
+        this.waitTimeMetric = executorName + "." + EXECUTOR_WAIT_TIME;
+        this.rejectedMetric = executorName + "." + EXECUTOR_REJECTED;
+    }
+
+    @Override
+    public void execute(final Runnable command) {
+        final int active = activeTasks.get();
+        final int queued = queuedTasks.incrementAndGet() - 1;
+        emit(metrics -> {
+            metrics.addLevel(activeTasksMetric, active, Unit.ONE);
+            metrics.addLevel(queueDepthMetric, queued, Unit.ONE);
+        });
+
+        final long submittedAtNanos = System.nanoTime();
+        try {
+            delegate.execute(() -> {
+                queuedTasks.decrementAndGet();
+                activeTasks.incrementAndGet();
+                try {
+                    final long waitMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - submittedAtNanos);
+                    emit(metrics -> metrics.addTime(waitTimeMetric, waitMillis, SI.MILLI(SI.SECOND)));
+                    command.run();
+                } finally {
+                    activeTasks.decrementAndGet();
+                }
+            });
+        } catch (RejectedExecutionException rejectedExecutionException) {
+            queuedTasks.decrementAndGet();
+            emit(metrics -> metrics.addCount(rejectedMetric, 1, Unit.ONE));
+            log.warn("{} is saturated, rejected task with {} tasks running and {} queued.", executorName,
+                    activeTasks.get(), queuedTasks.get());
+            throw rejectedExecutionException;
+        }
+    }
+
+    private void emit(final Consumer<Metrics> emitter) {
+        metricsEmitter.emitStandalone(executorName, ImmutableMap.of(), emitter);
+    }
+
+    @Override
+    public void shutdown() {
+        delegate.shutdown();
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        return delegate.shutdownNow();
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return delegate.isShutdown();
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return delegate.isTerminated();
+    }
+
+    @Override
+    public boolean awaitTermination(final long timeout, final TimeUnit unit) throws InterruptedException {
+        return delegate.awaitTermination(timeout, unit);
+    }
+}
@@ -0,0 +1,24 @@
+package com.amazon.green.book.service.webapp.utils;
+
+import com.amazon.green.book.service.webapp.exceptions.GreenBookInvalidInputException;
+import lombok.experimental.UtilityClass;
+import lombok.extern.log4j.Log4j2;
+
+@Log4j2
+@UtilityClass
+public class MarketplaceIdValidator {
+
+    /**
+     * Validates that the request has a marketplaceId, e.g. from the X-Amz-Portal-MarketplaceId header.
+     *
+     * @param marketplaceId the marketplaceId to validate
+     * @throws GreenBookInvalidInputException if the marketplaceId is missing
+     */
+    public static void validateMarketplaceId(final String marketplaceId) throws GreenBookInvalidInputException {
+        if (marketplaceId == null || marketplaceId.trim().isEmpty()) {
+            // logs at ERROR level because in production use this error should never happen
+            log.error("Received request without marketplaceId");
+            throw new GreenBookInvalidInputException("Received request without marketplaceId");
+        }
+    }
+}
@@ -1,6 +1,13 @@
 package com.amazon.green.book.service.webapp.utils;
 
+import static com.amazon.green.book.service.webapp.constants.MetricsConstants.OPERATION_PROP;
+
+import com.amazon.coral.metrics.Metrics;
+import com.amazon.coral.metrics.MetricsFactory;
 import com.amazon.metrics.declarative.MetricsManager;
+import java.util.Map;
+import java.util.function.Consumer;
+import javax.measure.unit.SI;
 import javax.measure.unit.Unit;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
@@ -10,6 +17,7 @@ import org.springframework.stereotype.Component;
 public class MetricsEmitter {
 
     private final MetricsManager metricsManager;
+    private final MetricsFactory metricsFactory;
 
     /**
      * Emit a count metric.
@@ -20,4 +28,42 @@ public class MetricsEmitter {
     public void emitCount(final String metricName, final double value) {
         metricsManager.get().addCount(metricName, value, Unit.ONE);
     }
+
+    /**
+     * Emit a level metric, e.g. a gauge sampled at the time of the call.
+     *
+     * @param metricName metric name
+     * @param value      level value
+     */
+    public void emitLevel(final String metricName, final double value) {
+        metricsManager.get().addLevel(metricName, value, Unit.ONE);
+    }
+
+    /**
+     * Emit a time metric.
+     *
+     * @param metricName   metric name
+     * @param milliseconds time value in milliseconds
+     */
+    public void emitTime(final String metricName, final double milliseconds) {
+        metricsManager.get().addTime(metricName, milliseconds, SI.MILLI(SI.SECOND));
+    }
+
+    /**
+     * Emit metrics from outside of a request, e.g. from a background thread, as their own metrics record.
+     *
+     * @param operation  value of the Operation property of the record
+     * @param properties additional properties of the record by name
+     * @param emitter    adds the metrics to the record
+     */
+    public void emitStandalone(final String operation, final Map<String, String> properties, final Consumer<Metrics> emitter) {
+        final Metrics metrics = metricsFactory.newMetrics();
+        try {
+            metrics.addProperty(OPERATION_PROP, operation);
+            properties.forEach(metrics::addProperty);
+            emitter.accept(metrics);
+        } finally {
+            metrics.close();
+        }
+    }
 }